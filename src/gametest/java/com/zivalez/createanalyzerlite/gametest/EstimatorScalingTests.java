@@ -0,0 +1,209 @@
+package com.zivalez.createanalyzerlite.gametest;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.integration.create.CreateAccess;
+import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
+import com.zivalez.createanalyzerlite.integration.create.NetworkEstimator;
+import com.zivalez.createanalyzerlite.integration.create.StressTable;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Estimator scaling suite, run by the {@code gameTestServer} run config.
+ * <p>
+ * Each test builds a square grid of meshing cogwheels driven by a creative
+ * motor, with an encased fan on every fourth cog in both directions, waits
+ * until every block turns, then estimates the network from the motor. It
+ * asserts the exact node count and stress sums computed by hand from
+ * Create's default stress config (not through {@link StressTable}, which is
+ * what is under test), and records wall time and allocation per estimate.
+ * A run fails if either exceeds its threshold:
+ * <ul>
+ *   <li>{@code createanalyzerlite.gametest.maxNanosPerNode} (default 5000)</li>
+ *   <li>{@code createanalyzerlite.gametest.maxBytesPerRun} (default 65536)</li>
+ * </ul>
+ * Create must be on the run's mod list (e.g. in {@code run/mods}); without it
+ * a single failing test says so.
+ */
+@GameTestHolder(CreateAnalyzerLite.MOD_ID)
+public final class EstimatorScalingTests {
+
+    /** Empty 32x4x32 template; blocks are placed by the tests. */
+    private static final String TEMPLATE = CreateAnalyzerLite.MOD_ID + ":scaling_floor";
+    private static final String BATCH = "estimator_scaling";
+    private static final int MAX_TICKS = 400;
+
+    /** Grid sides; nodes grow quadratically. */
+    private static final int[] SIDES = {8, 16, 32};
+    private static final int FAN_SPACING = 4;
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final long MAX_NANOS_PER_NODE = Long.getLong("createanalyzerlite.gametest.maxNanosPerNode", 5_000L);
+    private static final long MAX_BYTES_PER_RUN = Long.getLong("createanalyzerlite.gametest.maxBytesPerRun", 65_536L);
+
+    private static final double STRESS_EPSILON = 1e-6;
+
+    // Create's defaults: creative motor speed, and stress units per RPM
+    private static final float MOTOR_RPM = 16.0f;
+    private static final double MOTOR_CAPACITY = 16384.0;
+    private static final double FAN_IMPACT = 2.0;
+
+    @GameTestGenerator
+    public static Collection<TestFunction> scaling() {
+        final List<TestFunction> tests = new ArrayList<>();
+        if (!CreateAccess.isAvailable()) {
+            tests.add(new TestFunction(BATCH, "create_missing", TEMPLATE, 1, 0L, true,
+                helper -> helper.fail("Create is not installed; add it to the gameTestServer run")));
+            return tests;
+        }
+        for (final int side : SIDES) {
+            tests.add(new TestFunction(BATCH, "cog_grid_" + side, TEMPLATE, MAX_TICKS, 0L, true,
+                helper -> cogGrid(helper, side)));
+        }
+        return tests;
+    }
+
+    private static void cogGrid(final GameTestHelper helper, final int side) {
+        final Block motor = createBlock("creative_motor");
+        final Block cog = createBlock("cogwheel");
+        final Block fan = createBlock("encased_fan");
+
+        final BlockPos motorPos = new BlockPos(0, 1, 0);
+        helper.setBlock(motorPos, withFacing(motor.defaultBlockState(), Direction.UP));
+        final List<BlockPos> placed = new ArrayList<>();
+        placed.add(motorPos);
+        int fans = 0;
+        for (int x = 0; x < side; x++) {
+            for (int z = 0; z < side; z++) {
+                final BlockPos cogPos = new BlockPos(x, 2, z);
+                helper.setBlock(cogPos, withAxis(cog.defaultBlockState(), Direction.Axis.Y));
+                placed.add(cogPos);
+                if (x % FAN_SPACING == 0 && z % FAN_SPACING == 0) {
+                    // Facing up puts the fan's shaft on its bottom face
+                    final BlockPos fanPos = cogPos.above();
+                    helper.setBlock(fanPos, withFacing(fan.defaultBlockState(), Direction.UP));
+                    placed.add(fanPos);
+                    fans++;
+                }
+            }
+        }
+
+        // Every block turns at the motor's speed (meshing cogs alternate direction)
+        final double expectedConsumption = fans * FAN_IMPACT * MOTOR_RPM;
+        final double expectedCapacity = MOTOR_CAPACITY * MOTOR_RPM;
+        helper.startSequence()
+            .thenWaitUntil(() -> {
+                // Speed propagates over a few ticks after placement
+                for (final BlockPos pos : placed) {
+                    helper.assertTrue(Math.abs(CreateAccess.speed(kinetic(helper, pos))) == MOTOR_RPM,
+                        "Not turning at " + MOTOR_RPM + " RPM yet at " + pos);
+                }
+            })
+            .thenExecute(() -> measure(helper, "cog_grid_" + side, motorPos, placed, expectedConsumption, expectedCapacity))
+            .thenSucceed();
+    }
+
+    /**
+     * Estimate from {@code origin}, check results against {@code placed} and
+     * the expected stress, and check cost against the thresholds.
+     */
+    private static void measure(
+        final GameTestHelper helper,
+        final String name,
+        final BlockPos origin,
+        final List<BlockPos> placed,
+        final double expectedConsumption,
+        final double expectedCapacity
+    ) {
+        final BlockEntity start = kinetic(helper, origin);
+        final int maxNodes = placed.size() + 1;
+        KineticQuery.StressData result = null;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            result = NetworkEstimator.estimate(start, helper.getLevel(), maxNodes);
+        }
+
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final boolean allocationSupported = threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+        final long thread = Thread.currentThread().threadId();
+        final long[] nanos = new long[MEASURED_RUNS];
+        long maxBytes = 0L;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long bytesBefore = allocationSupported ? threads.getThreadAllocatedBytes(thread) : 0L;
+            final long t0 = System.nanoTime();
+            result = NetworkEstimator.estimate(start, helper.getLevel(), maxNodes);
+            nanos[i] = System.nanoTime() - t0;
+            if (allocationSupported) {
+                maxBytes = Math.max(maxBytes, threads.getThreadAllocatedBytes(thread) - bytesBefore);
+            }
+        }
+        Arrays.sort(nanos);
+        final long medianNanos = nanos[MEASURED_RUNS / 2];
+
+        CreateAnalyzerLite.LOGGER.info("[gametest] {}: {} nodes, median {} µs ({} ns/node), max {} bytes allocated per run",
+            name, result.nodes(), medianNanos / 1_000, medianNanos / Math.max(1, result.nodes()),
+            allocationSupported ? maxBytes : "n/a");
+
+        helper.assertTrue(result.nodes() == placed.size(),
+            "Expected " + placed.size() + " nodes, estimated " + result.nodes());
+        assertClose(expectedConsumption, result.consumption(), "consumption");
+        assertClose(expectedCapacity, result.capacity(), "capacity");
+
+        final long nanosPerNode = medianNanos / result.nodes();
+        if (nanosPerNode > MAX_NANOS_PER_NODE) {
+            throw new GameTestAssertException(name + ": " + nanosPerNode + " ns/node exceeds limit of " + MAX_NANOS_PER_NODE);
+        }
+        if (allocationSupported && maxBytes > MAX_BYTES_PER_RUN) {
+            throw new GameTestAssertException(name + ": " + maxBytes + " bytes per run exceeds limit of " + MAX_BYTES_PER_RUN);
+        }
+    }
+
+    private static void assertClose(final double expected, final double actual, final String what) {
+        if (Math.abs(expected - actual) > STRESS_EPSILON * Math.max(1.0, Math.abs(expected))) {
+            throw new GameTestAssertException("Expected " + what + " " + expected + ", estimated " + actual);
+        }
+    }
+
+    private static BlockEntity kinetic(final GameTestHelper helper, final BlockPos pos) {
+        final BlockEntity be = helper.getBlockEntity(pos);
+        if (!CreateAccess.isKinetic(be)) {
+            throw new GameTestAssertException("No kinetic block entity at " + pos);
+        }
+        return be;
+    }
+
+    private static Block createBlock(final String path) {
+        return BuiltInRegistries.BLOCK.getOptional(ResourceLocation.fromNamespaceAndPath("create", path))
+            .orElseThrow(() -> new GameTestAssertException("Missing block create:" + path));
+    }
+
+    private static BlockState withFacing(final BlockState state, final Direction facing) {
+        return state.hasProperty(BlockStateProperties.FACING) ? state.setValue(BlockStateProperties.FACING, facing) : state;
+    }
+
+    private static BlockState withAxis(final BlockState state, final Direction.Axis axis) {
+        return state.hasProperty(BlockStateProperties.AXIS) ? state.setValue(BlockStateProperties.AXIS, axis) : state;
+    }
+
+    private EstimatorScalingTests() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
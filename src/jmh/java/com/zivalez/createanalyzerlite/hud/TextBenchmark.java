@@ -0,0 +1,65 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.zivalez.createanalyzerlite.config.ClientConfig;
+import com.zivalez.createanalyzerlite.util.CharFormatter;
+import net.minecraft.client.StringSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Panel layout work: text measuring and ellipsizing through
+ * {@link TextMetrics}, and anchor placement through {@link LayoutEngine}.
+ * <p>
+ * Fonts need a running client, so a {@link StringSplitter} with fixed 6-unit
+ * glyphs (the default font's common advance) stands in for one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark {
+
+    private static final String LABEL = "Mechanical Press Assembly Line (north wing)";
+    private static final ClientConfig.Anchor[] ANCHORS = ClientConfig.Anchor.values();
+
+    private final StringSplitter splitter = new StringSplitter((codePoint, style) -> 6.0f);
+    private final CharFormatter text = new CharFormatter(64);
+    private int cursor;
+
+    @Benchmark
+    public int width() {
+        return TextMetrics.width(splitter, LABEL);
+    }
+
+    @Benchmark
+    public int ellipsize() {
+        text.clear().append(LABEL);
+        TextMetrics.ellipsize(splitter, text, 120);
+        return text.length();
+    }
+
+    @Benchmark
+    public int baselineWidth() {
+        return (int) Math.ceil(splitter.stringWidth(LABEL));
+    }
+
+    @Benchmark
+    public int layout() {
+        cursor = (cursor + 1) % ANCHORS.length;
+        final ClientConfig.Anchor anchor = ANCHORS[cursor];
+        final int width = LayoutEngine.baseWidth(cursor % 2 == 0);
+        return LayoutEngine.computeX(anchor, 854, width, 8, 1.25)
+            + LayoutEngine.computeY(anchor, 480, 60, 8, 1.25);
+    }
+}
@@ -0,0 +1,123 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Generated kinetic network standing in for a level in benchmarks.
+ * <p>
+ * Blocks are described by packed {@link KineticLinks} rules, so traversal
+ * runs the same link checks as in game without Minecraft being bootstrapped.
+ * Every 16th block consumes stress and the origin provides capacity.
+ */
+final class SyntheticGrid implements KineticView {
+
+    enum Shape {
+        /** One straight shaft line. */
+        LINE,
+        /** Gearbox trunk with parallel shaft branches (branches do not touch). */
+        TREE,
+        /** Solid cube of gearboxes: every block links to all six neighbours. */
+        DENSE
+    }
+
+    private static final int Y = 64;
+    private static final int BRANCH = 8;
+
+    private static final int SHAFT_X = KineticLinks.pack(faces(Direction.WEST, Direction.EAST), Direction.Axis.X.ordinal(), false, false);
+    private static final int SHAFT_Z = KineticLinks.pack(faces(Direction.NORTH, Direction.SOUTH), Direction.Axis.Z.ordinal(), false, false);
+    private static final int GEARBOX = KineticLinks.pack(0x3F, -1, false, false);
+
+    private final LongIntMap index;
+    private int[] rules;
+    private float[] consumption;
+    private float[] capacity;
+    private int count;
+    private int current = -1;
+
+    private SyntheticGrid(final int nodes) {
+        index = new LongIntMap(nodes);
+        rules = new int[nodes];
+        consumption = new float[nodes];
+        capacity = new float[nodes];
+    }
+
+    /**
+     * @param nodes Exact number of blocks to generate
+     */
+    static SyntheticGrid build(final Shape shape, final int nodes) {
+        final SyntheticGrid grid = new SyntheticGrid(nodes);
+        switch (shape) {
+            case LINE -> {
+                for (int x = 0; grid.count < nodes; x++) {
+                    grid.add(x, Y, 0, SHAFT_X);
+                }
+            }
+            case TREE -> {
+                for (int x = 0; grid.count < nodes; x++) {
+                    grid.add(x, Y, 0, GEARBOX);
+                    for (int z = 1; z <= BRANCH && grid.count < nodes; z++) {
+                        grid.add(x, Y, z, SHAFT_Z);
+                        if (grid.count < nodes) {
+                            grid.add(x, Y, -z, SHAFT_Z);
+                        }
+                    }
+                }
+            }
+            case DENSE -> {
+                final int side = (int) Math.ceil(Math.cbrt(nodes));
+                for (int i = 0; grid.count < nodes; i++) {
+                    grid.add(i % side, Y + (i / side) % side, i / (side * side), GEARBOX);
+                }
+            }
+        }
+        grid.capacity[0] = 100_000.0f;
+        return grid;
+    }
+
+    /**
+     * @return Packed position of the first generated block
+     */
+    long origin() {
+        return BlockPos.asLong(0, Y, 0);
+    }
+
+    int size() {
+        return count;
+    }
+
+    @Override
+    public int load(final long pos) {
+        current = index.get(pos);
+        return (current == LongIntMap.MISSING) ? NONE : rules[current];
+    }
+
+    @Override
+    public double consumption() {
+        return (current < 0) ? 0.0 : consumption[current];
+    }
+
+    @Override
+    public double capacity() {
+        return (current < 0) ? 0.0 : capacity[current];
+    }
+
+    private void add(final int x, final int y, final int z, final int blockRules) {
+        if (count == rules.length) {
+            rules = Arrays.copyOf(rules, count << 1);
+            consumption = Arrays.copyOf(consumption, count << 1);
+            capacity = Arrays.copyOf(capacity, count << 1);
+        }
+        index.put(BlockPos.asLong(x, y, z), count);
+        rules[count] = blockRules;
+        consumption[count] = (count % 16 == 15) ? 8.0f : 0.0f;
+        count++;
+    }
+
+    private static int faces(final Direction a, final Direction b) {
+        return (1 << a.ordinal()) | (1 << b.ordinal());
+    }
+}
@@ -0,0 +1,81 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network traversal over synthetic grids: full runs, time-sliced runs and
+ * membership indexing of the result.
+ * <p>
+ * The grids are {@link KineticView}s with precomputed rules, so this measures
+ * the traversal itself. The live-level path ({@link ChunkCursor},
+ * {@link LevelKineticView}, Create's reflective rule lookups and
+ * {@link StressTable}) needs a running game and is timed end to end by the
+ * estimator gametests instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+    /** Per-call budget for the time-sliced variant, as in the default config. */
+    private static final long SLICE_NANOS = 200_000L;
+
+    @Param({"LINE", "TREE", "DENSE"})
+    public String shape;
+
+    @Param({"1000", "10000", "20000"})
+    public int nodes;
+
+    private final KineticTraversal traversal = new KineticTraversal();
+    private final NetworkMembership membership = new NetworkMembership(20_000);
+    private SyntheticGrid grid;
+    private long[] members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = SyntheticGrid.build(SyntheticGrid.Shape.valueOf(shape), nodes);
+        traversal.run(grid, grid.origin(), nodes);
+        if (traversal.nodes() != grid.size()) {
+            throw new IllegalStateException("Traversal reached " + traversal.nodes() + " of " + grid.size() + " blocks");
+        }
+        members = traversal.members();
+    }
+
+    @Benchmark
+    public int fullTraversal() {
+        traversal.run(grid, grid.origin(), nodes);
+        return traversal.nodes();
+    }
+
+    @Benchmark
+    public int slicedTraversal() {
+        traversal.begin(grid, grid.origin(), nodes);
+        while (!traversal.advance(SLICE_NANOS)) {
+            // Next slice
+        }
+        return traversal.nodes();
+    }
+
+    @Benchmark
+    public int membershipIndex() {
+        membership.clear();
+        membership.addNetwork(members);
+        return membership.networkId(grid.origin());
+    }
+}
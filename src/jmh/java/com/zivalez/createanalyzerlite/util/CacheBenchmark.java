@@ -0,0 +1,75 @@
+package com.zivalez.createanalyzerlite.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit and miss paths of the result caches, with keys spread over 64 cached
+ * networks of 1000 blocks each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int NETWORKS = 64;
+    private static final int BLOCKS = 1000;
+    private static final int LOOKUPS = 1 << 12;
+
+    private final LruCache<Object> lru = new LruCache<>(NETWORKS, NETWORKS * BLOCKS);
+    private final Cache<Object> single = new Cache<>(20);
+    private final long[] hitKeys = new long[LOOKUPS];
+    private final long[] missKeys = new long[LOOKUPS];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long key = 0;
+        for (int n = 0; n < NETWORKS; n++) {
+            final long[] members = new long[BLOCKS];
+            for (int i = 0; i < BLOCKS; i++) {
+                members[i] = key++;
+            }
+            lru.put(members, new Object(), 0L, Integer.MAX_VALUE);
+        }
+        single.put(new Object(), 0L);
+
+        final SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < LOOKUPS; i++) {
+            hitKeys[i] = random.nextLong(key);
+            missKeys[i] = key + random.nextLong(key);
+        }
+    }
+
+    @Benchmark
+    public Object lruHit() {
+        cursor = (cursor + 1) & (LOOKUPS - 1);
+        return lru.get(hitKeys[cursor], 1L);
+    }
+
+    @Benchmark
+    public Object lruMiss() {
+        cursor = (cursor + 1) & (LOOKUPS - 1);
+        return lru.get(missKeys[cursor], 1L);
+    }
+
+    @Benchmark
+    public Object singleHit() {
+        return single.get(1L);
+    }
+}
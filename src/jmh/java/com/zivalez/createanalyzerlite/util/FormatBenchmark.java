@@ -0,0 +1,78 @@
+package com.zivalez.createanalyzerlite.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HUD number formatting: {@link TextUtil} strings against reused
+ * {@link CharFormatter} buffers, with {@code String.format} as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final int VALUES = 1 << 10;
+
+    private final double[] values = new double[VALUES];
+    private final float[] speeds = new float[VALUES];
+    private final CharFormatter formatter = new CharFormatter(32);
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < VALUES; i++) {
+            // Spread over magnitudes so every suffix branch is taken
+            values[i] = Math.pow(10, random.nextDouble(0, 10)) * (random.nextBoolean() ? 1 : -1);
+            speeds[i] = (float) random.nextDouble(-256, 256);
+        }
+    }
+
+    @Benchmark
+    public String formatBaseline() {
+        return String.format(Locale.ROOT, "%.1fK", next() / 1_000);
+    }
+
+    @Benchmark
+    public String textUtilCompact() {
+        return TextUtil.formatCompact(next());
+    }
+
+    @Benchmark
+    public int formatterCompact() {
+        return formatter.clear().appendCompact(next()).length();
+    }
+
+    @Benchmark
+    public int formatterRpm() {
+        cursor = (cursor + 1) & (VALUES - 1);
+        return formatter.clear().appendRpm(speeds[cursor]).length();
+    }
+
+    @Benchmark
+    public int formatterPercent() {
+        return formatter.clear().appendPercent(next() / 1e10).length();
+    }
+
+    private double next() {
+        cursor = (cursor + 1) & (VALUES - 1);
+        return values[cursor];
+    }
+}
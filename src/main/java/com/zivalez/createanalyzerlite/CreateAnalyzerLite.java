@@ -6,6 +6,7 @@ import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
+import net.neoforged.fml.loading.FMLEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,7 +25,10 @@ public final class CreateAnalyzerLite {
             "createanalyzerlite-client.toml"
         );
         
-        NeoForgeClientBus.register(modBus);
+        // The gameTestServer run loads the mod on a dedicated server
+        if (FMLEnvironment.dist.isClient()) {
+            NeoForgeClientBus.register(modBus);
+        }
         
         LOGGER.info("CreateAnalyzerLite initialized successfully!");
     }
@@ -2,6 +2,7 @@ package com.zivalez.createanalyzerlite.client;
 
 import com.zivalez.createanalyzerlite.config.ClientConfig;
 import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.config.ConfigSnapshot;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
@@ -14,7 +15,8 @@ import java.util.function.Supplier;
 /**
  * Simple, safe, single-screen config UI with tabs.
  * - Uses ONLY existing ClientConfig values (no new APIs).
- * - Autosave: write to ClientConfig.V.* on every change.
+ * - Autosave: write to ClientConfig.V.* on every change; the file is saved
+ *   in one debounced batch via {@link ConfigSnapshot}.
  * - Reset per-setting (⟲) and Reset All.
  * - Done to close.
  */
@@ -179,6 +181,22 @@ public class ConfigScreen extends Screen {
             () -> V.showNodes.get(),
             v -> V.showNodes.set(v));
         addResetPerSetting(x + 210, y, () -> V.showNodes.set(true));
+        y += ROW_H + GAP;
+
+        addBooleanToggle(x, y, 200, "World Labels",
+            () -> V.worldLabels.get(),
+            v -> V.worldLabels.set(v));
+        addResetPerSetting(x + 210, y, () -> V.worldLabels.set(false));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Label Radius (blocks)", 4, 64, 4,
+            () -> V.worldLabelRadius.get(), v -> V.worldLabelRadius.set(v));
+        addResetPerSetting(x + 310, y, () -> V.worldLabelRadius.set(24));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Max Labels", 16, 2048, 16,
+            () -> V.maxWorldLabels.get(), v -> V.maxWorldLabels.set(v));
+        addResetPerSetting(x + 310, y, () -> V.maxWorldLabels.set(256));
     }
 
     private void buildSectionBehaviour(final int startY) {
@@ -209,9 +227,14 @@ public class ConfigScreen extends Screen {
         int y = startY;
         int x = PANE_PADDING;
 
-        addIntStepper(x, y, 300, "Sample Every Ticks", 1, 200, 1,
-            () -> V.sampleEveryTicks.get(), v -> V.sampleEveryTicks.set(v));
-        addResetPerSetting(x + 310, y, () -> V.sampleEveryTicks.set(5));
+        addIntStepper(x, y, 300, "Min Sample Ticks", 1, 200, 1,
+            () -> V.minSampleTicks.get(), v -> V.minSampleTicks.set(v));
+        addResetPerSetting(x + 310, y, () -> V.minSampleTicks.set(5));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Max Sample Ticks", 1, 1200, 10,
+            () -> V.maxSampleTicks.get(), v -> V.maxSampleTicks.set(v));
+        addResetPerSetting(x + 310, y, () -> V.maxSampleTicks.set(100));
         y += ROW_H + GAP;
 
         addIntStepper(x, y, 300, "Max BFS Nodes", 64, 20000, 64,
@@ -222,6 +245,29 @@ public class ConfigScreen extends Screen {
         addIntStepper(x, y, 300, "Cache TTL (ticks)", 1, 200, 1,
             () -> V.cacheTtlTicks.get(), v -> V.cacheTtlTicks.set(v));
         addResetPerSetting(x + 310, y, () -> V.cacheTtlTicks.set(5));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Snapshot Radius (chunks)", 1, 12, 1,
+            () -> V.snapshotChunkRadius.get(), v -> V.snapshotChunkRadius.set(v));
+        addResetPerSetting(x + 310, y, () -> V.snapshotChunkRadius.set(4));
+        y += ROW_H + GAP;
+
+        addEnumCycler(x, y, 300, "Estimation Mode",
+            () -> V.estimationMode.get(),
+            v -> V.estimationMode.set(v),
+            ClientConfig.EstimationMode.values(),
+            ClientConfig.EstimationMode::name);
+        addResetPerSetting(x + 310, y, () -> V.estimationMode.set(ClientConfig.EstimationMode.WORKER));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Tick Budget (µs)", 20, 5000, 20,
+            () -> V.traversalBudgetMicros.get(), v -> V.traversalBudgetMicros.set(v));
+        addResetPerSetting(x + 310, y, () -> V.traversalBudgetMicros.set(200));
+        y += ROW_H + GAP;
+
+        addIntStepper(x, y, 300, "Frame Budget (ms, 0 = off)", 0, 200, 1,
+            () -> V.frameBudgetMillis.get(), v -> V.frameBudgetMillis.set(v));
+        addResetPerSetting(x + 310, y, () -> V.frameBudgetMillis.set(33));
     }
 
     // =========================
@@ -231,6 +277,7 @@ public class ConfigScreen extends Screen {
     private void addBooleanToggle(int x, int y, int w, String label, Supplier<Boolean> getter, Consumer<Boolean> setter) {
         addRenderableWidget(Button.builder(renderBoolLabel(label, getter.get()), b -> {
             setter.accept(!getter.get());
+            ConfigSnapshot.markDirty();
             // re-label
             b.setMessage(renderBoolLabel(label, getter.get()));
         }).pos(x, y).size(w, 20).build());
@@ -250,6 +297,7 @@ public class ConfigScreen extends Screen {
             int idx = java.util.Arrays.asList(values).indexOf(cur);
             idx = (idx + 1) % values.length;
             setter.accept(values[idx]);
+            ConfigSnapshot.markDirty();
             b.setMessage(enumLabel(label, values[idx], toText));
         }).pos(x, y).size(w, 20).build());
     }
@@ -268,6 +316,7 @@ public class ConfigScreen extends Screen {
             int v = getter.get();
             v = clamp(v - step, min, max);
             setter.accept(v);
+            ConfigSnapshot.markDirty();
             buildUi(); // refresh numbers
         }).pos(x, y).size(btnW, 20).build());
 
@@ -280,6 +329,7 @@ public class ConfigScreen extends Screen {
             int v = getter.get();
             v = clamp(v + step, min, max);
             setter.accept(v);
+            ConfigSnapshot.markDirty();
             buildUi();
         }).pos(x + btnW + 4 + labelW + 4, y).size(btnW, 20).build());
     }
@@ -293,6 +343,7 @@ public class ConfigScreen extends Screen {
             double v = getter.get();
             v = clamp(round1(v - step), min, max);
             setter.accept(v);
+            ConfigSnapshot.markDirty();
             buildUi();
         }).pos(x, y).size(btnW, 20).build());
 
@@ -303,6 +354,7 @@ public class ConfigScreen extends Screen {
             double v = getter.get();
             v = clamp(round1(v + step), min, max);
             setter.accept(v);
+            ConfigSnapshot.markDirty();
             buildUi();
         }).pos(x + btnW + 4 + labelW + 4, y).size(btnW, 20).build());
     }
@@ -310,6 +362,7 @@ public class ConfigScreen extends Screen {
     private void addResetPerSetting(int x, int y, Runnable resetAction) {
         addRenderableWidget(Button.builder(Component.literal("⟲"), b -> {
             resetAction.run();
+            ConfigSnapshot.markDirty();
             buildUi();
         }).pos(x, y).size(24, 20).build());
     }
@@ -330,15 +383,24 @@ public class ConfigScreen extends Screen {
         V.showRPM.set(true);
         V.showStress.set(true);
         V.showNodes.set(true);
+        V.worldLabels.set(false);
+        V.worldLabelRadius.set(24);
+        V.maxWorldLabels.set(256);
         // Behaviour
         V.hideInMenus.set(true);
         V.onlyWhenHoldingGoggles.set(false);
         V.lockTargetPersist.set(true);
         // Performance
-        V.sampleEveryTicks.set(5);
+        V.minSampleTicks.set(5);
+        V.maxSampleTicks.set(100);
         V.maxBfsNodes.set(2048);
         V.cacheTtlTicks.set(5);
+        V.snapshotChunkRadius.set(4);
+        V.estimationMode.set(ClientConfig.EstimationMode.WORKER);
+        V.traversalBudgetMicros.set(200);
+        V.frameBudgetMillis.set(33);
 
+        ConfigSnapshot.markDirty();
         buildUi();
     }
 
@@ -353,6 +415,7 @@ public class ConfigScreen extends Screen {
 
     @Override
     public void onClose() {
+        ConfigSnapshot.flush();
         Minecraft.getInstance().setScreen(this.parent);
     }
 
@@ -367,7 +430,7 @@ public class ConfigScreen extends Screen {
         final int cx = this.width / 2;
         gfx.drawCenteredString(this.font, this.title, cx, 6, 0xFFFFFF);
 
-        final var cfg = com.zivalez.createanalyzerlite.config.ConfigData.fromSpec();
+        final var cfg = ConfigSnapshot.get();
         gfx.drawCenteredString(
             this.font,
             net.minecraft.network.chat.Component.literal(
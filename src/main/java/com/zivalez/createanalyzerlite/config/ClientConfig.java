@@ -30,6 +30,9 @@ public final class ClientConfig {
         public final ModConfigSpec.BooleanValue showStress;
         public final ModConfigSpec.BooleanValue showNodes;
         public final ModConfigSpec.EnumValue<DisplayMode> defaultDisplayMode;
+        public final ModConfigSpec.BooleanValue worldLabels;
+        public final ModConfigSpec.IntValue worldLabelRadius;
+        public final ModConfigSpec.IntValue maxWorldLabels;
 
         // === Behaviour ===
         public final ModConfigSpec.BooleanValue hideInMenus;
@@ -37,9 +40,16 @@ public final class ClientConfig {
         public final ModConfigSpec.BooleanValue lockTargetPersist;
 
         // === Performance ===
-        public final ModConfigSpec.IntValue sampleEveryTicks;
+        public final ModConfigSpec.IntValue minSampleTicks;
+        public final ModConfigSpec.IntValue maxSampleTicks;
         public final ModConfigSpec.IntValue maxBfsNodes;
         public final ModConfigSpec.IntValue cacheTtlTicks;
+        public final ModConfigSpec.IntValue snapshotChunkRadius;
+        public final ModConfigSpec.EnumValue<EstimationMode> estimationMode;
+        public final ModConfigSpec.IntValue traversalBudgetMicros;
+        public final ModConfigSpec.IntValue frameBudgetMillis;
+        /** Pre-adaptive sampling interval; 0 once moved to {@link #minSampleTicks}. */
+        public final ModConfigSpec.IntValue sampleEveryTicks;
 
         private Values(final ModConfigSpec.Builder b) {
             b.push("UI");
@@ -59,6 +69,9 @@ public final class ClientConfig {
             showNodes = b.define("showNodes", true);
             // ✅ change only this line: default EXPANDED
             defaultDisplayMode = b.defineEnum("defaultDisplayMode", DisplayMode.EXPANDED);
+            worldLabels = b.define("worldLabels", false);
+            worldLabelRadius = b.defineInRange("worldLabelRadius", 24, 4, 64);
+            maxWorldLabels = b.defineInRange("maxWorldLabels", 256, 16, 2048);
             b.pop();
 
             b.push("Behaviour");
@@ -68,9 +81,17 @@ public final class ClientConfig {
             b.pop();
 
             b.push("Performance");
-            sampleEveryTicks = b.defineInRange("sampleEveryTicks", 5, 1, 200);
+            minSampleTicks = b.defineInRange("minSampleTicks", 5, 1, 200);
+            maxSampleTicks = b.defineInRange("maxSampleTicks", 100, 1, 1200);
             maxBfsNodes = b.defineInRange("maxBfsNodes", 2048, 64, 20000);
             cacheTtlTicks = b.defineInRange("cacheTtlTicks", 5, 1, 200);
+            snapshotChunkRadius = b.defineInRange("snapshotChunkRadius", 4, 1, 12);
+            estimationMode = b.defineEnum("estimationMode", EstimationMode.WORKER);
+            traversalBudgetMicros = b.defineInRange("traversalBudgetMicros", 200, 20, 5000);
+            frameBudgetMillis = b.defineInRange("frameBudgetMillis", 33, 0, 200);
+            // Kept in the spec so load correction does not drop it before it is migrated
+            sampleEveryTicks = b.comment("Deprecated: moved to minSampleTicks on load")
+                .defineInRange("sampleEveryTicks", 0, 0, 200);
             b.pop();
         }
     }
@@ -78,6 +99,7 @@ public final class ClientConfig {
     public enum Theme { AUTO, LIGHT, DARK }
     public enum Anchor { TOP_LEFT, TOP_RIGHT, BOTTOM_LEFT, BOTTOM_RIGHT }
     public enum DisplayMode { COMPACT, EXPANDED }
+    public enum EstimationMode { WORKER, INCREMENTAL }
 
     private ClientConfig() { }
 }
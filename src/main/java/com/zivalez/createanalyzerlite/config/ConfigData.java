@@ -15,12 +15,20 @@ public record ConfigData(
     boolean showStress,
     boolean showNodes,
     DisplayMode defaultDisplayMode,
+    boolean worldLabels,
+    int worldLabelRadius,
+    int maxWorldLabels,
     boolean hideInMenus,
     boolean onlyWhenHoldingGoggles,
     boolean lockTargetPersist,
-    int sampleEveryTicks,
+    int minSampleTicks,
+    int maxSampleTicks,
     int maxBfsNodes,
-    int cacheTtlTicks
+    int cacheTtlTicks,
+    int snapshotChunkRadius,
+    EstimationMode estimationMode,
+    int traversalBudgetMicros,
+    int frameBudgetMillis
 ) {
     public static ConfigData fromSpec() {
         final var v = ClientConfig.V;
@@ -37,12 +45,38 @@ public record ConfigData(
             v.showStress.get(),
             v.showNodes.get(),
             v.defaultDisplayMode.get(),
+            v.worldLabels.get(),
+            v.worldLabelRadius.get(),
+            v.maxWorldLabels.get(),
             v.hideInMenus.get(),
             v.onlyWhenHoldingGoggles.get(),
             v.lockTargetPersist.get(),
-            v.sampleEveryTicks.get(),
+            v.minSampleTicks.get(),
+            Math.max(v.minSampleTicks.get(), v.maxSampleTicks.get()),
             v.maxBfsNodes.get(),
-            v.cacheTtlTicks.get()
+            v.cacheTtlTicks.get(),
+            v.snapshotChunkRadius.get(),
+            v.estimationMode.get(),
+            v.traversalBudgetMicros.get(),
+            v.frameBudgetMillis.get()
+        );
+    }
+
+    /**
+     * @return Copy with other estimation and label limits (used by the frame governor)
+     */
+    public ConfigData withPerformance(
+        final int maxBfsNodes,
+        final int minSampleTicks,
+        final int maxSampleTicks,
+        final int maxWorldLabels
+    ) {
+        return new ConfigData(
+            theme, scale, anchor, offsetX, offsetY, opacity, padding, cornerRadius,
+            showRPM, showStress, showNodes, defaultDisplayMode, worldLabels, worldLabelRadius, maxWorldLabels,
+            hideInMenus, onlyWhenHoldingGoggles, lockTargetPersist,
+            minSampleTicks, maxSampleTicks, maxBfsNodes, cacheTtlTicks, snapshotChunkRadius,
+            estimationMode, traversalBudgetMicros, frameBudgetMillis
         );
     }
 
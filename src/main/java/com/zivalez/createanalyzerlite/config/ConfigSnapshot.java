@@ -0,0 +1,119 @@
+package com.zivalez.createanalyzerlite.config;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import javax.annotation.Nullable;
+
+/**
+ * Current client config as an immutable {@link ConfigData}, rebuilt only when
+ * the config changes.
+ * <p>
+ * Refreshed on {@link ModConfigEvent.Loading}/{@link ModConfigEvent.Reloading}
+ * and on in-game config screen edits via {@link #markDirty}. Every refresh
+ * bumps {@link #version()}, so caches derived from config can compare one int
+ * instead of individual values. Edits are written to disk in one debounced
+ * save after {@link #SAVE_DELAY_NANOS} without further changes, or
+ * immediately on {@link #flush}.
+ */
+public final class ConfigSnapshot {
+
+    /** Quiet period after the last edit before the file is saved. */
+    private static final long SAVE_DELAY_NANOS = 1_000_000_000L;
+
+    @Nullable
+    private static volatile ConfigData data;
+    private static volatile int version;
+
+    // Client thread only
+    private static boolean saveQueued;
+    private static long saveDueNanos;
+
+    /**
+     * @return Current config; never null once the config has loaded
+     */
+    public static ConfigData get() {
+        ConfigData d = data;
+        if (d == null) {
+            d = refresh();
+        }
+        return d;
+    }
+
+    /**
+     * @return Number of refreshes so far; changes whenever {@link #get} does
+     */
+    public static int version() {
+        return version;
+    }
+
+    /**
+     * Rebuild the snapshot from the config spec.
+     */
+    public static synchronized ConfigData refresh() {
+        final ConfigData d = ConfigData.fromSpec();
+        data = d;
+        version++;
+        return d;
+    }
+
+    /**
+     * Record an in-game edit: refresh now and queue a debounced save.
+     * Client thread only.
+     */
+    public static void markDirty() {
+        refresh();
+        saveQueued = true;
+        saveDueNanos = System.nanoTime() + SAVE_DELAY_NANOS;
+    }
+
+    /**
+     * Save queued edits once the debounce delay has passed. Call every client tick.
+     */
+    public static void tick() {
+        if (saveQueued && System.nanoTime() - saveDueNanos >= 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Save queued edits now (e.g. when the config screen closes).
+     */
+    public static void flush() {
+        if (!saveQueued) {
+            return;
+        }
+        saveQueued = false;
+        ClientConfig.SPEC.save();
+        CreateAnalyzerLite.LOGGER.debug("Client config saved");
+    }
+
+    /**
+     * Mod bus listener for {@link ModConfigEvent.Loading} and {@link ModConfigEvent.Reloading}.
+     */
+    public static void onConfigEvent(final ModConfigEvent event) {
+        if (event.getConfig().getSpec() == ClientConfig.SPEC) {
+            migrate();
+            refresh();
+        }
+    }
+
+    /**
+     * Move a {@code sampleEveryTicks} value from before adaptive sampling into
+     * {@code minSampleTicks}, once, so the user's interval is kept.
+     */
+    private static void migrate() {
+        final int legacy = ClientConfig.V.sampleEveryTicks.get();
+        if (legacy == 0) {
+            return;
+        }
+        ClientConfig.V.minSampleTicks.set(legacy);
+        ClientConfig.V.sampleEveryTicks.set(0);
+        ClientConfig.SPEC.save();
+        CreateAnalyzerLite.LOGGER.info("Migrated sampleEveryTicks={} to minSampleTicks", legacy);
+    }
+
+    private ConfigSnapshot() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -0,0 +1,55 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR instant event for cache activity: hits, misses, expiries, evictions and
+ * invalidations.
+ * <p>
+ * {@link #emit} only touches the event after {@code isEnabled()}, so while no
+ * recording runs the allocation is scalar-replaced and nothing is written.
+ */
+@Name("createanalyzerlite.Cache")
+@Label("Cache Activity")
+@Category({"Create Analyzer Lite", "Cache"})
+@Description("Lookup result, eviction or invalidation in an analyzer cache")
+@StackTrace(false)
+public final class CacheEvent extends Event {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String EXPIRED = "expired";
+    public static final String EVICTION = "eviction";
+    public static final String INVALIDATION = "invalidation";
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Kind")
+    @Description("hit, miss, expired, eviction or invalidation")
+    private String kind;
+
+    @Label("Key")
+    @Description("Looked-up or evicted key (packed block position for network caches)")
+    private long key;
+
+    @Label("Entries")
+    @Description("Entries in the cache after the operation")
+    private int entries;
+
+    public static void emit(final String cache, final String kind, final long key, final int entries) {
+        final CacheEvent event = new CacheEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.kind = kind;
+            event.key = key;
+            event.entries = entries;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.config.ConfigSnapshot;
+
+import javax.annotation.Nullable;
+
+/**
+ * Degrades analyzer work while the analyzer itself costs too much of the
+ * frame-time budget.
+ * <p>
+ * Frame intervals and the analyzer's own cost per frame (overlay rendering
+ * plus client-tick estimation work) are smoothed with exponential moving
+ * averages and judged every {@value #WINDOW_MILLIS} ms. A window over budget
+ * (the analyzer using more than a tenth of {@code frameBudgetMillis}, or
+ * more than 5% of frames slower than it) steps one {@link Level} down; a
+ * slow frame alone does not, since scaling down cannot help when the time
+ * goes elsewhere. {@value #CALM_WINDOWS} calm windows in a row (analyzer
+ * under a twentieth of the budget, and under 2.5% of any slow frame) step
+ * back up. Each level halves the BFS node limit and
+ * the world label cap and doubles the sampling intervals; {@link Level#MINIMAL}
+ * also renders compact.
+ * <p>
+ * Callers read settings through {@link #config}, which applies the current
+ * level to the {@link ConfigSnapshot} and is rebuilt only when either
+ * changes. A budget of 0 turns the governor off. Client thread only.
+ */
+public final class FrameGovernor {
+
+    /** Degradation levels, mildest first. */
+    public enum Level {
+        NORMAL(1, ""),
+        REDUCED(2, "▼"),
+        MINIMAL(4, "▼▼");
+
+        private final int divisor;
+        private final String badge;
+
+        Level(final int divisor, final String badge) {
+            this.divisor = divisor;
+            this.badge = badge;
+        }
+
+        /**
+         * @return HUD badge text, empty at {@link #NORMAL}
+         */
+        public String badge() {
+            return badge;
+        }
+    }
+
+    private static final int WINDOW_MILLIS = 500;
+    private static final long WINDOW_NANOS = WINDOW_MILLIS * 1_000_000L;
+    private static final int CALM_WINDOWS = 4;
+    /** Weight of the newest frame in the moving averages. */
+    private static final double ALPHA = 0.1;
+    /** Share of a slow frame the analyzer may use before degrading. */
+    private static final double SLOW_FRAME_SHARE = 0.05;
+    /** Lowest node limit the governor goes down to. */
+    private static final int MIN_BFS_NODES = 64;
+    /** Fewest world labels the governor goes down to. */
+    private static final int MIN_WORLD_LABELS = 16;
+
+    private static Level level = Level.NORMAL;
+    private static double frameNanos;
+    private static double costNanos;
+    private static long lastFrame;
+    private static long pendingCost;
+    private static long windowStart;
+    private static int calm;
+
+    // Effective config, rebuilt when the snapshot or the level changes
+    @Nullable
+    private static ConfigData effective;
+    private static int effectiveSource = -1;
+    private static Level effectiveLevel = Level.NORMAL;
+    private static int version;
+
+    /**
+     * Add analyzer work done outside {@link #frame} (e.g. on the client tick)
+     * to the current frame's cost.
+     */
+    public static void addCost(final long nanos) {
+        pendingCost += nanos;
+    }
+
+    /**
+     * Record one frame; call once per frame.
+     *
+     * @param start Time the analyzer's frame work started
+     * @param cost Nanoseconds the analyzer spent in this frame
+     */
+    public static void frame(final long start, final long cost) {
+        final long interval = start - lastFrame;
+        final boolean first = lastFrame == 0L;
+        lastFrame = start;
+        final long total = cost + pendingCost;
+        pendingCost = 0L;
+        if (first || interval > 1_000_000_000L) {
+            // First frame, or a stall (loading, paused window): start over
+            frameNanos = 0.0;
+            costNanos = total;
+            windowStart = start;
+            return;
+        }
+        frameNanos = (frameNanos == 0.0) ? interval : frameNanos + ALPHA * (interval - frameNanos);
+        costNanos += ALPHA * (total - costNanos);
+
+        if (start - windowStart >= WINDOW_NANOS) {
+            windowStart = start;
+            judge(ConfigSnapshot.get().frameBudgetMillis() * 1_000_000.0);
+        }
+    }
+
+    private static void judge(final double budget) {
+        if (budget <= 0.0) {
+            setLevel(Level.NORMAL);
+            calm = 0;
+            return;
+        }
+        final boolean slow = frameNanos > budget;
+        if (costNanos > budget / 10.0 || (slow && costNanos > frameNanos * SLOW_FRAME_SHARE)) {
+            calm = 0;
+            if (level != Level.MINIMAL) {
+                setLevel(Level.values()[level.ordinal() + 1]);
+            }
+        } else if (costNanos < budget / 20.0 && (!slow || costNanos < frameNanos * SLOW_FRAME_SHARE / 2.0)) {
+            if (++calm >= CALM_WINDOWS && level != Level.NORMAL) {
+                calm = 0;
+                setLevel(Level.values()[level.ordinal() - 1]);
+            }
+        } else {
+            calm = 0;
+        }
+    }
+
+    private static void setLevel(final Level next) {
+        if (next != level) {
+            level = next;
+            CreateAnalyzerLite.LOGGER.debug("Frame governor: {} (frame {} µs, analyzer {} µs)",
+                next, (long) (frameNanos / 1000), (long) (costNanos / 1000));
+        }
+    }
+
+    /**
+     * @return Current config with the governor's limits applied
+     */
+    public static ConfigData config() {
+        final ConfigData base = ConfigSnapshot.get();
+        final int source = ConfigSnapshot.version();
+        if (effective == null || source != effectiveSource || level != effectiveLevel) {
+            final int d = level.divisor;
+            effective = (d == 1) ? base : base.withPerformance(
+                Math.max(Math.min(MIN_BFS_NODES, base.maxBfsNodes()), base.maxBfsNodes() / d),
+                base.minSampleTicks() * d,
+                base.maxSampleTicks() * d,
+                Math.max(MIN_WORLD_LABELS, base.maxWorldLabels() / d)
+            );
+            effectiveSource = source;
+            effectiveLevel = level;
+            version++;
+        }
+        return effective;
+    }
+
+    /**
+     * @return Changes whenever {@link #config} does; usable as a cache key
+     */
+    public static int version() {
+        config();
+        return version;
+    }
+
+    public static Level level() {
+        return level;
+    }
+
+    /**
+     * @return true if the HUD should render compact regardless of mode
+     */
+    public static boolean forceCompact() {
+        return level == Level.MINIMAL;
+    }
+
+    /**
+     * @return Smoothed frame interval in nanoseconds
+     */
+    public static double frameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * @return Smoothed analyzer cost per frame in nanoseconds
+     */
+    public static double costNanos() {
+        return costNanos;
+    }
+
+    private FrameGovernor() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
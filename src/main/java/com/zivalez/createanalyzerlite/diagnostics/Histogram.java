@@ -0,0 +1,101 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of non-negative {@code long} samples
+ * (nanoseconds in practice).
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} linear buckets, so a
+ * reported percentile is within 1/{@value #SUB_BUCKETS} (6.25%) of the true
+ * value; values below {@value #SUB_BUCKETS} are exact. Samples above
+ * 2<sup>{@value #MAX_EXPONENT}</sup> land in the last bucket. Memory is one
+ * {@code long[]} allocated up front, and {@link #record} is a few shifts and
+ * an array increment. The maximum is tracked exactly. Not thread-safe.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Largest power of two with its own buckets (~18 minutes in ns). */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+
+    public void record(final long value) {
+        final long v = Math.max(0L, value);
+        counts[index(v)]++;
+        total++;
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * @param quantile Fraction of samples at or below the result, 0 to 1
+     * @return Upper bound of the bucket holding that rank (capped at
+     *         {@link #max()}), or 0 when empty
+     */
+    public long percentile(final double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0L);
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Replace this histogram's contents with a copy of {@code other}'s.
+     */
+    public void copyFrom(final Histogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, BUCKETS);
+        total = other.total;
+        max = other.max;
+    }
+
+    private static int index(final long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        final int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(v));
+        if (exponent == MAX_EXPONENT && v >= (1L << (MAX_EXPONENT + 1))) {
+            return BUCKETS - 1;
+        }
+        final int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        final long sub = index % SUB_BUCKETS;
+        final long width = 1L << (exponent - SUB_BITS);
+        return ((SUB_BUCKETS + sub) << (exponent - SUB_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the overlay's work in one rendered frame.
+ */
+@Name("createanalyzerlite.OverlayFrame")
+@Label("Overlay Frame")
+@Category({"Create Analyzer Lite", "Overlay"})
+@Description("Analyzer HUD cost in one frame, from target lookup to composite")
+@StackTrace(false)
+public final class OverlayFrameEvent extends Event {
+
+    @Label("Drawn")
+    @Description("A HUD panel was shown this frame")
+    private boolean drawn;
+
+    @Label("Panel Rebuilt")
+    @Description("The cached panel texture was redrawn")
+    private boolean panelRebuilt;
+
+    @Label("Nodes")
+    @Description("Node count of the shown network, or -1")
+    private int nodes;
+
+    public void describe(final boolean drawn, final boolean panelRebuilt, final int nodes) {
+        this.drawn = drawn;
+        this.panelRebuilt = panelRebuilt;
+        this.nodes = nodes;
+    }
+}
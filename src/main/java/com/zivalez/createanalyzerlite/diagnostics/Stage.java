@@ -0,0 +1,29 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+/**
+ * Analyzer pipeline stages timed by {@link StageProfiler}.
+ */
+public enum Stage {
+    /** Picking the targeted kinetic block. */
+    TARGET("Target"),
+    /** Cache lookups and reflective reads through KineticQuery. */
+    QUERY("Query"),
+    /** Client-thread network estimation: snapshot capture, time slices, sync BFS. */
+    BFS("BFS"),
+    /** Panel sizing and placement. */
+    LAYOUT("Layout"),
+    /** Painting the panel texture and compositing it. */
+    DRAW("Draw"),
+    /** World-space overlays: block labels and the heatmap, gathering and drawing. */
+    WORLD("World");
+
+    private final String label;
+
+    Stage(final String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,120 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+/**
+ * Nanosecond timing of the analyzer pipeline, per {@link Stage} and frame.
+ * <p>
+ * Call sites bracket a stage with {@link #start} and {@link #end}; time spent
+ * in a stage is summed over the frame (tick work included) and recorded as one
+ * sample per stage at the next {@link #frame}. Histograms cover a
+ * {@value #WINDOW_SECONDS}-second window; {@link #stats} returns the last
+ * complete window, or the current one before the first completes.
+ * <p>
+ * When disabled, {@link #start} is a single field read returning
+ * {@link #OFF}, and {@link #end} returns on that sentinel without reading the
+ * clock. Client thread only; work on the estimator worker thread is off-frame
+ * and not timed.
+ */
+public final class StageProfiler {
+
+    /** Returned by {@link #start} while disabled. */
+    public static final long OFF = Long.MIN_VALUE;
+
+    private static final int WINDOW_SECONDS = 5;
+    private static final long WINDOW_NANOS = WINDOW_SECONDS * 1_000_000_000L;
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final Histogram[] LIVE = new Histogram[STAGES.length];
+    private static final Histogram[] WINDOW = new Histogram[STAGES.length];
+    private static final long[] PENDING = new long[STAGES.length];
+
+    static {
+        for (int i = 0; i < STAGES.length; i++) {
+            LIVE[i] = new Histogram();
+            WINDOW[i] = new Histogram();
+        }
+    }
+
+    private static boolean enabled;
+    private static int touched;
+    private static long windowStart;
+    private static boolean windowComplete;
+
+    /**
+     * @return Start timestamp, or {@link #OFF} if profiling is disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Add the time since {@code start} to the stage's total for this frame.
+     *
+     * @param start Value returned by {@link #start}
+     */
+    public static void end(final Stage stage, final long start) {
+        if (start == OFF) {
+            return;
+        }
+        PENDING[stage.ordinal()] += System.nanoTime() - start;
+        touched |= 1 << stage.ordinal();
+    }
+
+    /**
+     * Record the per-stage totals gathered since the last call; call once per
+     * frame. Stages that did not run are not sampled.
+     */
+    public static void frame() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < STAGES.length; i++) {
+            if ((touched & (1 << i)) != 0) {
+                LIVE[i].record(PENDING[i]);
+                PENDING[i] = 0L;
+            }
+        }
+        touched = 0;
+
+        final long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            for (int i = 0; i < STAGES.length; i++) {
+                WINDOW[i].copyFrom(LIVE[i]);
+                LIVE[i].clear();
+            }
+            windowStart = now;
+            windowComplete = true;
+        }
+    }
+
+    /**
+     * @return Per-frame cost histogram of a stage (read-only; reused)
+     */
+    public static Histogram stats(final Stage stage) {
+        return windowComplete ? WINDOW[stage.ordinal()] : LIVE[stage.ordinal()];
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switch profiling on or off. Switching on starts from empty histograms.
+     */
+    public static void toggle() {
+        enabled = !enabled;
+        if (enabled) {
+            for (int i = 0; i < STAGES.length; i++) {
+                LIVE[i].clear();
+                WINDOW[i].clear();
+                PENDING[i] = 0L;
+            }
+            touched = 0;
+            windowStart = System.nanoTime();
+            windowComplete = false;
+        }
+    }
+
+    private StageProfiler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -0,0 +1,85 @@
+package com.zivalez.createanalyzerlite.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nullable;
+
+/**
+ * JFR event spanning one network traversal, from start to published result.
+ * <p>
+ * Synchronous and worker traversals use the usual
+ * {@code begin()}/{@code shouldCommit()} pattern, which JIT-compiles to
+ * nothing while no recording is running. Time-sliced traversals outlive a
+ * call, so they keep the event from {@link #startIfRecording}, which is null
+ * while no recording is running.
+ */
+@Name("createanalyzerlite.Traversal")
+@Label("Network Traversal")
+@Category({"Create Analyzer Lite", "Estimator"})
+@Description("Kinetic network BFS from start to published result")
+@StackTrace(false)
+public final class TraversalEvent extends Event {
+
+    public static final String SYNC = "sync";
+    public static final String WORKER = "worker";
+    public static final String INCREMENTAL = "incremental";
+
+    private static final EventType TYPE = EventType.getEventType(TraversalEvent.class);
+
+    @Label("Mode")
+    @Description("sync, worker or incremental")
+    private String mode;
+
+    @Label("Origin X")
+    private int originX;
+
+    @Label("Origin Y")
+    private int originY;
+
+    @Label("Origin Z")
+    private int originZ;
+
+    @Label("Nodes")
+    private int nodes;
+
+    @Label("Capped")
+    @Description("Node limit reached before the network was fully walked")
+    private boolean capped;
+
+    @Label("Slices")
+    @Description("Time slices used (1 unless incremental)")
+    private int slices;
+
+    /**
+     * @return A begun event if a recording has this event enabled, else null
+     */
+    @Nullable
+    public static TraversalEvent startIfRecording() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final TraversalEvent event = new TraversalEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fill in the result; call before {@link #commit()}.
+     */
+    public void describe(final String mode, final int x, final int y, final int z,
+                         final int nodes, final boolean capped, final int slices) {
+        this.mode = mode;
+        this.originX = x;
+        this.originY = y;
+        this.originZ = z;
+        this.nodes = nodes;
+        this.capped = capped;
+        this.slices = slices;
+    }
+}
@@ -0,0 +1,50 @@
+package com.zivalez.createanalyzerlite.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Big-endian bit reader over a byte range written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private ByteBuffer buf;
+    private int start;
+    private int bitLimit;
+    private int bit;
+
+    /**
+     * @param offset Absolute byte offset of the first bit
+     * @param bitCount Number of valid bits
+     */
+    void reset(final ByteBuffer buf, final int offset, final int bitCount) {
+        this.buf = buf;
+        this.start = offset;
+        this.bitLimit = bitCount;
+        this.bit = 0;
+    }
+
+    /**
+     * @param count 0 to 64
+     */
+    long read(final int count) {
+        if (bit + count > bitLimit) {
+            throw new IllegalStateException("Read past end of block");
+        }
+        long v = 0L;
+        int remaining = count;
+        while (remaining > 0) {
+            final int b = buf.get(start + (bit >>> 3)) & 0xFF;
+            final int avail = 8 - (bit & 7);
+            final int take = Math.min(avail, remaining);
+            final int shifted = (b >>> (avail - take)) & ((1 << take) - 1);
+            v = (v << take) | shifted;
+            bit += take;
+            remaining -= take;
+        }
+        return v;
+    }
+
+    boolean readBit() {
+        return read(1) != 0L;
+    }
+}
@@ -0,0 +1,66 @@
+package com.zivalez.createanalyzerlite.history;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable big-endian bit buffer backed by a {@code long[]}.
+ * Reused between blocks; not thread-safe.
+ */
+final class BitWriter {
+
+    private long[] words = new long[16];
+    private int bits;
+
+    /**
+     * Append the low {@code count} bits of {@code value}, most significant first.
+     *
+     * @param count 0 to 64
+     */
+    void write(final long value, final int count) {
+        if (count == 0) {
+            return;
+        }
+        final long v = (count == 64) ? value : value & ((1L << count) - 1);
+        final int word = bits >>> 6;
+        final int used = bits & 63;
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length << 1);
+        }
+        final int free = 64 - used;
+        if (count <= free) {
+            words[word] |= v << (free - count);
+        } else {
+            words[word] |= v >>> (count - free);
+            words[word + 1] |= v << (64 - (count - free));
+        }
+        bits += count;
+    }
+
+    void writeBit(final boolean bit) {
+        write(bit ? 1L : 0L, 1);
+    }
+
+    int bitLength() {
+        return bits;
+    }
+
+    int byteLength() {
+        return (bits + 7) >>> 3;
+    }
+
+    /**
+     * Copy {@link #byteLength()} bytes to {@code out} at its position.
+     */
+    void copyTo(final ByteBuffer out) {
+        final int bytes = byteLength();
+        for (int i = 0; i < bytes; i++) {
+            out.put((byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3))));
+        }
+    }
+
+    void clear() {
+        Arrays.fill(words, 0, Math.min(words.length, (bits >>> 6) + 1), 0L);
+        bits = 0;
+    }
+}
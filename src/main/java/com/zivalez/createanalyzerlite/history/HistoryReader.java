@@ -0,0 +1,164 @@
+package com.zivalez.createanalyzerlite.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader over the stored samples of one series.
+ * <p>
+ * Walks the segment files of a {@link Resolution} oldest first, skipping
+ * blocks of other series, and decodes one sample per {@link #next()} into a
+ * reused {@link HistorySample}, so a graph or export of any length needs
+ * constant memory. Only sealed blocks are visible; see
+ * {@link MetricsHistory#reader}. Close when done.
+ */
+public final class HistoryReader implements AutoCloseable {
+
+    private final Path dir;
+    private final Resolution resolution;
+    private final long series;
+    private final long fromSecond;
+    private final long toSecond;
+
+    private final int[] segments;
+    private int nextSegment;
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private int pos;
+    private int limit;
+
+    private final BitReader bits = new BitReader();
+    private final SampleCodec codec = new SampleCodec();
+    private final HistorySample sample = new HistorySample();
+    private int remaining;
+    private boolean finished;
+
+    /**
+     * @param fromSecond First Unix second to return (inclusive)
+     * @param toSecond Last Unix second to return (inclusive)
+     */
+    HistoryReader(final Path dir, final Resolution resolution, final long series,
+                  final long fromSecond, final long toSecond) throws IOException {
+        this.dir = dir;
+        this.resolution = resolution;
+        this.series = series;
+        this.fromSecond = fromSecond;
+        this.toSecond = toSecond;
+        this.segments = SegmentLog.segmentIndices(dir, resolution);
+    }
+
+    /**
+     * Advance to the next sample in range.
+     *
+     * @return false when there are no more samples
+     */
+    public boolean next() throws IOException {
+        while (!finished) {
+            if (remaining > 0) {
+                codec.decode(bits, sample);
+                remaining--;
+                if (sample.epochSecond > toSecond) {
+                    finished = true; // Blocks of a series are in time order
+                    return false;
+                }
+                if (sample.epochSecond >= fromSecond) {
+                    return true;
+                }
+            } else if (!nextBlock()) {
+                finished = true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Current sample; valid until the next call to {@link #next()}
+     */
+    public HistorySample sample() {
+        return sample;
+    }
+
+    /**
+     * Write the remaining samples as CSV with a header line.
+     *
+     * @return Number of samples written
+     */
+    public int writeCsv(final Appendable out) throws IOException {
+        out.append("epoch_second,speed_rpm,stress_consumption,stress_peak,stress_capacity,nodes\n");
+        int n = 0;
+        while (next()) {
+            out.append(Long.toString(sample.epochSecond)).append(',')
+                .append(Float.toString(sample.speed)).append(',')
+                .append(Float.toString(sample.consumption)).append(',')
+                .append(Float.toString(sample.peakConsumption)).append(',')
+                .append(Float.toString(sample.capacity)).append(',')
+                .append(Integer.toString(sample.nodes)).append('\n');
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            map = null;
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        while (true) {
+            while (map != null && pos + SegmentLog.BLOCK_HEADER_BYTES <= limit) {
+                final int length = map.getInt(pos);
+                if (length < SegmentLog.BLOCK_HEADER_BYTES || pos + length > limit) {
+                    break; // Damaged tail
+                }
+                final int block = pos;
+                pos += length;
+                if (map.getLong(block + 4) == series) {
+                    remaining = map.getInt(block + 12);
+                    bits.reset(map, block + SegmentLog.BLOCK_HEADER_BYTES, map.getInt(block + 16));
+                    codec.reset();
+                    return true;
+                }
+            }
+            if (!openNextSegment()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean openNextSegment() throws IOException {
+        close();
+        while (nextSegment < segments.length) {
+            final Path path = SegmentLog.segmentPath(dir, resolution, segments[nextSegment++]);
+            final FileChannel ch;
+            try {
+                ch = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (final IOException e) {
+                continue; // Deleted by retention meanwhile
+            }
+            final long size = ch.size();
+            if (size < SegmentLog.HEADER_BYTES) {
+                ch.close();
+                continue;
+            }
+            final MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final int writePos = m.getInt(SegmentLog.WRITE_POS_OFFSET);
+            if (m.getInt(0) != SegmentLog.MAGIC || m.getInt(4) != SegmentLog.VERSION || writePos < SegmentLog.HEADER_BYTES || writePos > size) {
+                ch.close();
+                continue;
+            }
+            channel = ch;
+            map = m;
+            pos = SegmentLog.HEADER_BYTES;
+            limit = writePos;
+            return true;
+        }
+        return false;
+    }
+}
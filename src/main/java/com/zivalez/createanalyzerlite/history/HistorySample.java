@@ -0,0 +1,55 @@
+package com.zivalez.createanalyzerlite.history;
+
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+
+/**
+ * One stored metrics point. Raw samples hold a single reading; rollups hold
+ * averages over their interval, with {@link #peakConsumption()} as the maximum
+ * and {@link #nodes()} as the largest count seen. Mutable and reused by
+ * {@link HistoryReader}; copy values out if they must outlive a step.
+ */
+public final class HistorySample {
+
+    long epochSecond;
+    float speed;
+    float consumption;
+    float peakConsumption;
+    float capacity;
+    int nodes;
+
+    void set(final long epochSecond, final KineticData data) {
+        this.epochSecond = epochSecond;
+        this.speed = data.speed();
+        this.consumption = (float) data.stressConsumption();
+        this.peakConsumption = consumption;
+        this.capacity = (float) data.stressCapacity();
+        this.nodes = data.nodes();
+    }
+
+    /**
+     * @return Start of the sample (interval start for rollups), in Unix seconds
+     */
+    public long epochSecond() {
+        return epochSecond;
+    }
+
+    public float speed() {
+        return speed;
+    }
+
+    public float consumption() {
+        return consumption;
+    }
+
+    public float peakConsumption() {
+        return peakConsumption;
+    }
+
+    public float capacity() {
+        return capacity;
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+}
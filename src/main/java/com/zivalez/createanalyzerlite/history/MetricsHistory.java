@@ -0,0 +1,216 @@
+package com.zivalez.createanalyzerlite.history;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.client.server.IntegratedServer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.fml.loading.FMLPaths;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent metrics history of watched networks.
+ * <p>
+ * Samples are taken at most once per second per series (a series is a
+ * watched block position) and appended to compressed, memory-mapped segment
+ * files under {@code createanalyzerlite/history/<world>/<dimension>/}, with
+ * minute and hour rollups written alongside. Recording costs an encode of a
+ * few dozen bits on the render thread; a full block is copied into the
+ * mapping every few minutes. History is opened on login and flushed and
+ * closed on logout, so it carries over relogs. After an I/O error, recording
+ * is off until the next login. {@link #exportCsv} writes a series out as CSV
+ * under {@code createanalyzerlite/exports/}. Client thread only.
+ */
+public final class MetricsHistory {
+
+    private static final Path ROOT = FMLPaths.GAMEDIR.get().resolve(CreateAnalyzerLite.MOD_ID).resolve("history");
+    private static final Path EXPORTS = ROOT.resolveSibling("exports");
+
+    @Nullable
+    private static Path worldDir;
+    private static final Map<ResourceKey<Level>, DimensionStore> DIMENSIONS = new HashMap<>();
+    private static final HistorySample SCRATCH = new HistorySample();
+
+    /**
+     * Start recording for the world the client just joined.
+     */
+    public static void open(final Minecraft mc) {
+        close();
+        worldDir = ROOT.resolve(sanitize(worldId(mc)));
+        CreateAnalyzerLite.LOGGER.debug("Metrics history at {}", worldDir);
+    }
+
+    /**
+     * Seal open blocks and close all files.
+     */
+    public static void close() {
+        for (final DimensionStore store : DIMENSIONS.values()) {
+            try {
+                store.close();
+            } catch (final IOException e) {
+                CreateAnalyzerLite.LOGGER.warn("Failed to close metrics history: {}", e.getMessage());
+            }
+        }
+        DIMENSIONS.clear();
+        worldDir = null;
+    }
+
+    /**
+     * Record a sample for a watched position; calls within the same second
+     * after the first are ignored.
+     */
+    public static void record(final ResourceKey<Level> dimension, final BlockPos pos, final KineticData data) {
+        if (worldDir == null) {
+            return;
+        }
+        final long second = System.currentTimeMillis() / 1000L;
+        try {
+            final DimensionStore store = store(dimension);
+            final SeriesWriter series = store.series(pos.asLong());
+            if (series.sampled(second)) {
+                return;
+            }
+            SCRATCH.set(second, data);
+            series.add(SCRATCH, store.logs);
+        } catch (final IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Open a streaming reader over a watched position's history. Pending
+     * samples of that series are sealed first, so the reader sees them.
+     *
+     * @param fromSecond First Unix second to return (inclusive)
+     * @param toSecond Last Unix second to return (inclusive)
+     * @return Reader, or null if no world is open
+     */
+    @Nullable
+    public static HistoryReader reader(
+        final ResourceKey<Level> dimension,
+        final BlockPos pos,
+        final Resolution resolution,
+        final long fromSecond,
+        final long toSecond
+    ) throws IOException {
+        if (worldDir == null) {
+            return null;
+        }
+        final DimensionStore store = store(dimension);
+        store.series(pos.asLong()).seal(store.logs);
+        return new HistoryReader(store.dir, resolution, pos.asLong(), fromSecond, toSecond);
+    }
+
+    /**
+     * Write a watched position's whole history as CSV, one file per
+     * {@link Resolution}, named after the world, dimension and position.
+     *
+     * @return Samples written over all files, or -1 if no world is open
+     */
+    public static int exportCsv(final ResourceKey<Level> dimension, final BlockPos pos) throws IOException {
+        if (worldDir == null) {
+            return -1;
+        }
+        final var id = dimension.location();
+        final String prefix = worldDir.getFileName() + "_" + sanitize(id.getNamespace() + "_" + id.getPath())
+            + "_" + pos.getX() + "_" + pos.getY() + "_" + pos.getZ() + "_";
+        Files.createDirectories(EXPORTS);
+        int samples = 0;
+        for (final Resolution r : Resolution.values()) {
+            try (HistoryReader reader = reader(dimension, pos, r, Long.MIN_VALUE, Long.MAX_VALUE);
+                 Writer out = Files.newBufferedWriter(EXPORTS.resolve(prefix + r.filePrefix() + ".csv"))) {
+                samples += reader.writeCsv(out);
+            }
+        }
+        CreateAnalyzerLite.LOGGER.info("Exported {} history samples of {} to {}", samples, pos, EXPORTS);
+        return samples;
+    }
+
+    private static DimensionStore store(final ResourceKey<Level> dimension) throws IOException {
+        DimensionStore store = DIMENSIONS.get(dimension);
+        if (store == null) {
+            final var id = dimension.location();
+            store = new DimensionStore(worldDir.resolve(sanitize(id.getNamespace() + "_" + id.getPath())));
+            DIMENSIONS.put(dimension, store);
+        }
+        return store;
+    }
+
+    private static void fail(final IOException e) {
+        CreateAnalyzerLite.LOGGER.warn("Metrics history disabled until next login: {}", e.getMessage());
+        close();
+    }
+
+    private static String worldId(final Minecraft mc) {
+        final IntegratedServer server = mc.getSingleplayerServer();
+        if (server != null) {
+            final Path save = server.getWorldPath(LevelResource.ROOT).toAbsolutePath().normalize();
+            return "sp_" + save.getFileName();
+        }
+        final ServerData data = mc.getCurrentServer();
+        return "mp_" + (data != null ? data.ip : "unknown");
+    }
+
+    private static String sanitize(final String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /** Segment logs and open series of one dimension. */
+    private static final class DimensionStore {
+
+        private final Path dir;
+        private final SegmentLog[] logs;
+        private final LongIntMap index = new LongIntMap(16);
+        private final List<SeriesWriter> series = new ArrayList<>();
+
+        DimensionStore(final Path dir) throws IOException {
+            this.dir = dir;
+            final Resolution[] resolutions = Resolution.values();
+            this.logs = new SegmentLog[resolutions.length];
+            for (final Resolution r : resolutions) {
+                logs[r.ordinal()] = SegmentLog.open(dir, r);
+            }
+        }
+
+        SeriesWriter series(final long key) {
+            final int i = index.get(key);
+            if (i != LongIntMap.MISSING) {
+                return series.get(i);
+            }
+            final SeriesWriter writer = new SeriesWriter(key);
+            index.put(key, series.size());
+            series.add(writer);
+            return writer;
+        }
+
+        void close() throws IOException {
+            try {
+                for (final SeriesWriter writer : series) {
+                    writer.flush(logs);
+                }
+            } finally {
+                for (final SegmentLog log : logs) {
+                    log.close();
+                }
+            }
+        }
+    }
+
+    private MetricsHistory() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -0,0 +1,45 @@
+package com.zivalez.createanalyzerlite.history;
+
+/**
+ * Stored sample intervals. Each has its own segment files and retention.
+ */
+public enum Resolution {
+    RAW("raw", 1, 16),
+    MINUTE("minute", 60, 8),
+    HOUR("hour", 3600, 8);
+
+    private final String filePrefix;
+    private final int seconds;
+    private final int maxSegments;
+
+    Resolution(final String filePrefix, final int seconds, final int maxSegments) {
+        this.filePrefix = filePrefix;
+        this.seconds = seconds;
+        this.maxSegments = maxSegments;
+    }
+
+    String filePrefix() {
+        return filePrefix;
+    }
+
+    /**
+     * @return Interval length in seconds
+     */
+    public int seconds() {
+        return seconds;
+    }
+
+    /**
+     * @return Segment files kept before the oldest is deleted
+     */
+    int maxSegments() {
+        return maxSegments;
+    }
+
+    /**
+     * @return Start of the interval containing {@code epochSecond}
+     */
+    long bucket(final long epochSecond) {
+        return epochSecond - Math.floorMod(epochSecond, seconds);
+    }
+}
@@ -0,0 +1,187 @@
+package com.zivalez.createanalyzerlite.history;
+
+/**
+ * Gorilla-style compression of {@link HistorySample} streams.
+ * <p>
+ * The first sample of a block is stored verbatim. After that, timestamps are
+ * delta-of-delta encoded (one bit for a steady interval), the four float
+ * values are XORed with their previous value and only the meaningful bits
+ * are written (one bit if unchanged), and node counts are delta encoded.
+ * Steady networks cost about one byte per sample. One instance encodes or
+ * decodes one block at a time; {@link #reset} between blocks.
+ */
+final class SampleCodec {
+
+    private static final int VALUES = 4;
+
+    private boolean first = true;
+    private long prevTime;
+    private long prevDelta;
+    private int prevNodes;
+    private final int[] prevBits = new int[VALUES];
+    private final int[] prevLeading = new int[VALUES];
+    private final int[] prevTrailing = new int[VALUES];
+    private final int[] scratch = new int[VALUES];
+
+    void reset() {
+        first = true;
+        prevDelta = 0L;
+    }
+
+    void encode(final BitWriter out, final HistorySample s) {
+        final int[] bits = scratch;
+        bits[0] = Float.floatToRawIntBits(s.speed);
+        bits[1] = Float.floatToRawIntBits(s.consumption);
+        bits[2] = Float.floatToRawIntBits(s.peakConsumption);
+        bits[3] = Float.floatToRawIntBits(s.capacity);
+        if (first) {
+            out.write(s.epochSecond, 64);
+            for (int i = 0; i < VALUES; i++) {
+                out.write(bits[i], 32);
+                prevBits[i] = bits[i];
+                prevLeading[i] = -1;
+            }
+            out.write(s.nodes, 32);
+            prevTime = s.epochSecond;
+            prevNodes = s.nodes;
+            first = false;
+            return;
+        }
+
+        final long delta = s.epochSecond - prevTime;
+        writeDeltaOfDelta(out, delta - prevDelta);
+        prevDelta = delta;
+        prevTime = s.epochSecond;
+
+        for (int i = 0; i < VALUES; i++) {
+            writeXor(out, i, bits[i]);
+        }
+
+        final int nodeDelta = s.nodes - prevNodes;
+        if (nodeDelta == 0) {
+            out.writeBit(false);
+        } else {
+            final int zigzag = (nodeDelta << 1) ^ (nodeDelta >> 31);
+            out.writeBit(true);
+            if ((zigzag & ~0xFF) == 0) {
+                out.writeBit(false);
+                out.write(zigzag, 8);
+            } else {
+                out.writeBit(true);
+                out.write(s.nodes, 32);
+            }
+        }
+        prevNodes = s.nodes;
+    }
+
+    void decode(final BitReader in, final HistorySample s) {
+        if (first) {
+            s.epochSecond = in.read(64);
+            for (int i = 0; i < VALUES; i++) {
+                prevBits[i] = (int) in.read(32);
+                prevLeading[i] = -1;
+            }
+            prevNodes = (int) in.read(32);
+            prevTime = s.epochSecond;
+            first = false;
+        } else {
+            prevDelta += readDeltaOfDelta(in);
+            prevTime += prevDelta;
+            s.epochSecond = prevTime;
+            for (int i = 0; i < VALUES; i++) {
+                readXor(in, i);
+            }
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    prevNodes = (int) in.read(32);
+                } else {
+                    final int zigzag = (int) in.read(8);
+                    prevNodes += (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+        }
+        s.speed = Float.intBitsToFloat(prevBits[0]);
+        s.consumption = Float.intBitsToFloat(prevBits[1]);
+        s.peakConsumption = Float.intBitsToFloat(prevBits[2]);
+        s.capacity = Float.intBitsToFloat(prevBits[3]);
+        s.nodes = prevNodes;
+    }
+
+    private static void writeDeltaOfDelta(final BitWriter out, final long dod) {
+        if (dod == 0) {
+            out.write(0b0, 1);
+        } else if (dod >= -63 && dod <= 64) {
+            out.write(0b10, 2);
+            out.write(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            out.write(0b110, 3);
+            out.write(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            out.write(0b1110, 4);
+            out.write(dod + 2047, 12);
+        } else {
+            out.write(0b1111, 4);
+            out.write(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(final BitReader in) {
+        if (!in.readBit()) {
+            return 0L;
+        }
+        if (!in.readBit()) {
+            return in.read(7) - 63;
+        }
+        if (!in.readBit()) {
+            return in.read(9) - 255;
+        }
+        if (!in.readBit()) {
+            return in.read(12) - 2047;
+        }
+        return in.read(64);
+    }
+
+    private void writeXor(final BitWriter out, final int i, final int bits) {
+        final int xor = bits ^ prevBits[i];
+        prevBits[i] = bits;
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        out.writeBit(true);
+        final int leading = Math.min(31, Integer.numberOfLeadingZeros(xor));
+        final int trailing = Integer.numberOfTrailingZeros(xor);
+        if (prevLeading[i] >= 0 && leading >= prevLeading[i] && trailing >= prevTrailing[i]) {
+            // Fits the previous window
+            out.writeBit(false);
+            out.write(xor >>> prevTrailing[i], 32 - prevLeading[i] - prevTrailing[i]);
+        } else {
+            final int length = 32 - leading - trailing;
+            out.writeBit(true);
+            out.write(leading, 5);
+            out.write(length - 1, 5);
+            out.write(xor >>> trailing, length);
+            prevLeading[i] = leading;
+            prevTrailing[i] = trailing;
+        }
+    }
+
+    private void readXor(final BitReader in, final int i) {
+        if (!in.readBit()) {
+            return;
+        }
+        final int xor;
+        if (!in.readBit()) {
+            final int length = 32 - prevLeading[i] - prevTrailing[i];
+            xor = (int) in.read(length) << prevTrailing[i];
+        } else {
+            final int leading = (int) in.read(5);
+            final int length = (int) in.read(5) + 1;
+            final int trailing = 32 - leading - length;
+            xor = (int) in.read(length) << trailing;
+            prevLeading[i] = leading;
+            prevTrailing[i] = trailing;
+        }
+        prevBits[i] ^= xor;
+    }
+}
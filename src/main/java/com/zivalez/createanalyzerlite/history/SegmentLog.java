@@ -0,0 +1,176 @@
+package com.zivalez.createanalyzerlite.history;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of compressed sample blocks for one {@link Resolution},
+ * stored in numbered memory-mapped segment files.
+ * <p>
+ * Segment layout: a 16-byte header (magic, version, write position) followed
+ * by blocks of {@code [int length][long series][int samples][int bits][payload]}.
+ * Each block is self-contained (see {@link SampleCodec}). Appends are plain
+ * stores into the mapping; the write position in the header is updated after
+ * the block, so a crash loses at most the block being written. Files grow in
+ * {@value #GROW_BYTES}-byte steps up to {@value #SEGMENT_BYTES} bytes, then the
+ * next segment is started and segments beyond {@link Resolution#maxSegments()}
+ * are deleted, oldest first. A segment that cannot be deleted yet (Windows
+ * refuses while a stale mapping of it is still alive) is retried on the next
+ * roll or open instead of failing the log. Not thread-safe.
+ */
+final class SegmentLog implements AutoCloseable {
+
+    static final int MAGIC = 0x43414853; // "CAHS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int BLOCK_HEADER_BYTES = 20;
+    static final int WRITE_POS_OFFSET = 8;
+
+    private static final int SEGMENT_BYTES = 256 * 1024;
+    private static final int GROW_BYTES = 16 * 1024;
+
+    private final Path dir;
+    private final Resolution resolution;
+
+    private int index;
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private int writePos;
+
+    private SegmentLog(final Path dir, final Resolution resolution) {
+        this.dir = dir;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Open the log, continuing the newest segment if it is intact.
+     */
+    static SegmentLog open(final Path dir, final Resolution resolution) throws IOException {
+        Files.createDirectories(dir);
+        final SegmentLog log = new SegmentLog(dir, resolution);
+        final int[] existing = segmentIndices(dir, resolution);
+        log.openSegment(existing.length == 0 ? 0 : existing[existing.length - 1]);
+        log.prune();
+        return log;
+    }
+
+    /**
+     * Append one block of {@code samples} samples encoded in {@code bits}.
+     */
+    void append(final long series, final int samples, final BitWriter bits) throws IOException {
+        final int length = BLOCK_HEADER_BYTES + bits.byteLength();
+        if (writePos + length > SEGMENT_BYTES && writePos > HEADER_BYTES) {
+            roll();
+        }
+        ensureMapped(writePos + length);
+
+        map.putInt(writePos, length);
+        map.putLong(writePos + 4, series);
+        map.putInt(writePos + 12, samples);
+        map.putInt(writePos + 16, bits.bitLength());
+        map.position(writePos + BLOCK_HEADER_BYTES);
+        bits.copyTo(map);
+
+        writePos += length;
+        map.putInt(WRITE_POS_OFFSET, writePos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            map = null;
+        }
+    }
+
+    /**
+     * @return Existing segment numbers of a resolution, ascending
+     */
+    static int[] segmentIndices(final Path dir, final Resolution resolution) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return new int[0];
+        }
+        final String prefix = resolution.filePrefix() + "-";
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                .map(p -> p.getFileName().toString())
+                .filter(n -> n.startsWith(prefix) && n.endsWith(".seg"))
+                .mapToInt(n -> parseIndex(n.substring(prefix.length(), n.length() - 4)))
+                .filter(i -> i >= 0)
+                .sorted()
+                .toArray();
+        }
+    }
+
+    static Path segmentPath(final Path dir, final Resolution resolution, final int index) {
+        return dir.resolve(String.format("%s-%05d.seg", resolution.filePrefix(), index));
+    }
+
+    private void openSegment(final int segment) throws IOException {
+        close();
+        index = segment;
+        channel = FileChannel.open(segmentPath(dir, resolution, segment),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long size = channel.size();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, GROW_BYTES));
+
+        if (size < HEADER_BYTES || map.getInt(0) == 0) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            writePos = HEADER_BYTES;
+            map.putInt(WRITE_POS_OFFSET, writePos);
+            return;
+        }
+        writePos = map.getInt(WRITE_POS_OFFSET);
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || writePos < HEADER_BYTES || writePos > size) {
+            CreateAnalyzerLite.LOGGER.warn("Unreadable history segment {}, starting a new one",
+                segmentPath(dir, resolution, segment).getFileName());
+            openSegment(segment + 1);
+        }
+    }
+
+    private void roll() throws IOException {
+        openSegment(index + 1);
+        prune();
+    }
+
+    private void prune() throws IOException {
+        for (final int old : segmentIndices(dir, resolution)) {
+            if (old > index - resolution.maxSegments()) {
+                break;
+            }
+            final Path path = segmentPath(dir, resolution, old);
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                // Mappings are only released by the GC; try again later
+                CreateAnalyzerLite.LOGGER.debug("Deferring deletion of history segment {}: {}",
+                    path.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    private void ensureMapped(final int bytes) throws IOException {
+        if (bytes <= map.capacity()) {
+            return;
+        }
+        final int size = ((bytes + GROW_BYTES - 1) / GROW_BYTES) * GROW_BYTES;
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static int parseIndex(final String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.zivalez.createanalyzerlite.history;
+
+import java.io.IOException;
+
+/**
+ * Write side of one series: raw samples plus minute and hour rollups, each
+ * collected into an in-memory block and appended to its {@link SegmentLog}
+ * when the block fills up, {@value #BLOCK_SECONDS} seconds after its first
+ * sample was added, or on {@link #flush}. The time bound keeps slowly filling
+ * rollup blocks from sitting in memory for hours, so a crash loses at most a
+ * few minutes of finished samples of each resolution.
+ */
+final class SeriesWriter {
+
+    /** Samples per block before it is sealed. */
+    private static final int BLOCK_SAMPLES = 256;
+    /** Encoded size that seals a block early (1 KiB). */
+    private static final int BLOCK_BITS = 8192;
+    /** Time after a block's first sample that seals it early. */
+    private static final long BLOCK_SECONDS = 300L;
+
+    private final long series;
+    private final Block raw = new Block(Resolution.RAW);
+    private final Block minute = new Block(Resolution.MINUTE);
+    private final Block hour = new Block(Resolution.HOUR);
+    private final Rollup minuteRollup = new Rollup(Resolution.MINUTE);
+    private final Rollup hourRollup = new Rollup(Resolution.HOUR);
+
+    private long lastSecond = Long.MIN_VALUE;
+
+    SeriesWriter(final long series) {
+        this.series = series;
+    }
+
+    /**
+     * @return true if a sample for {@code epochSecond} was already taken
+     */
+    boolean sampled(final long epochSecond) {
+        return epochSecond <= lastSecond;
+    }
+
+    void add(final HistorySample sample, final SegmentLog[] logs) throws IOException {
+        lastSecond = sample.epochSecond;
+        raw.add(sample, logs);
+        minuteRollup.add(sample, minute, logs);
+        hourRollup.add(sample, hour, logs);
+        raw.sealIfOld(logs);
+        minute.sealIfOld(logs);
+        hour.sealIfOld(logs);
+    }
+
+    /**
+     * Seal open blocks so readers see them. Unfinished rollup intervals stay open.
+     */
+    void seal(final SegmentLog[] logs) throws IOException {
+        raw.seal(logs);
+        minute.seal(logs);
+        hour.seal(logs);
+    }
+
+    /**
+     * Seal everything, including unfinished rollup intervals (on close). An
+     * interval cut this way is stored again, partially, if recording resumes
+     * within it.
+     */
+    void flush(final SegmentLog[] logs) throws IOException {
+        minuteRollup.emit(minute, logs);
+        hourRollup.emit(hour, logs);
+        seal(logs);
+    }
+
+    /** Open block of one resolution. */
+    private final class Block {
+
+        private final Resolution resolution;
+        private final BitWriter bits = new BitWriter();
+        private final SampleCodec codec = new SampleCodec();
+        private int samples;
+        // Sample second at which the first sample was added
+        private long openedSecond;
+
+        Block(final Resolution resolution) {
+            this.resolution = resolution;
+        }
+
+        void add(final HistorySample sample, final SegmentLog[] logs) throws IOException {
+            if (samples == 0) {
+                openedSecond = lastSecond;
+            }
+            codec.encode(bits, sample);
+            samples++;
+            if (samples >= BLOCK_SAMPLES || bits.bitLength() >= BLOCK_BITS) {
+                seal(logs);
+            }
+        }
+
+        void sealIfOld(final SegmentLog[] logs) throws IOException {
+            if (samples > 0 && lastSecond - openedSecond >= BLOCK_SECONDS) {
+                seal(logs);
+            }
+        }
+
+        void seal(final SegmentLog[] logs) throws IOException {
+            if (samples == 0) {
+                return;
+            }
+            logs[resolution.ordinal()].append(series, samples, bits);
+            bits.clear();
+            codec.reset();
+            samples = 0;
+        }
+    }
+
+    /** Running aggregate of the current interval of one resolution. */
+    private static final class Rollup {
+
+        private final Resolution resolution;
+        private final HistorySample out = new HistorySample();
+        private long bucket;
+        private int count;
+        private double speed;
+        private double consumption;
+        private float peak;
+        private double capacity;
+        private int nodes;
+
+        Rollup(final Resolution resolution) {
+            this.resolution = resolution;
+        }
+
+        void add(final HistorySample s, final Block block, final SegmentLog[] logs) throws IOException {
+            final long b = resolution.bucket(s.epochSecond);
+            if (count > 0 && b != bucket) {
+                emit(block, logs);
+            }
+            if (count == 0) {
+                bucket = b;
+                peak = s.peakConsumption;
+                nodes = s.nodes;
+            }
+            count++;
+            speed += s.speed;
+            consumption += s.consumption;
+            capacity += s.capacity;
+            peak = Math.max(peak, s.peakConsumption);
+            nodes = Math.max(nodes, s.nodes);
+        }
+
+        void emit(final Block block, final SegmentLog[] logs) throws IOException {
+            if (count == 0) {
+                return;
+            }
+            out.epochSecond = bucket;
+            out.speed = (float) (speed / count);
+            out.consumption = (float) (consumption / count);
+            out.peakConsumption = peak;
+            out.capacity = (float) (capacity / count);
+            out.nodes = nodes;
+            block.add(out, logs);
+            count = 0;
+            speed = 0.0;
+            consumption = 0.0;
+            capacity = 0.0;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.FrameGovernor;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
+import com.zivalez.createanalyzerlite.integration.create.CreateAccess;
+import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
+import com.zivalez.createanalyzerlite.integration.create.KineticRole;
+import com.zivalez.createanalyzerlite.integration.create.StressTable;
+import com.zivalez.createanalyzerlite.util.ColorUtil;
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Whole-network stress heatmap: every member block of one network tinted
+ * in the world by its role and load.
+ * <p>
+ * The heatmap follows the network of the block it was toggled on. Whenever
+ * the network cache holds a new member set for it (a fresh traversal, e.g.
+ * after a change invalidated the old one), each member's role and stress
+ * are read on the client tick within {@code traversalBudgetMicros}, and the
+ * readings go to a background thread that builds the mesh: one translucent
+ * box per member, with faces between two members left out, relative to the
+ * toggled block. Consumers shade from safe to danger by their share of the
+ * largest consumer's load, generators take the accent colour and
+ * transmission blocks a faint grey. The render thread uploads a finished
+ * mesh once into a {@link VertexBuffer}; every frame is then a single draw.
+ * <p>
+ * Readings identical to the shown ones (e.g. a result that only expired)
+ * are not rebuilt. As with the estimator, a newer build replaces one not
+ * yet started. Client thread only, except the mesh build.
+ */
+public final class NetworkHeatmap {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "CreateAnalyzerLite-Heatmap");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private static final AtomicReference<Job> PENDING = new AtomicReference<>();
+    private static final AtomicReference<Mesh> BUILT = new AtomicReference<>();
+
+    /** Boxes are grown by this much so they do not z-fight with the blocks. */
+    private static final float INFLATE = 0.004f;
+    private static final int MEMBER_ALPHA = 0x80;
+    private static final int TRANSMISSION_ALPHA = 0x30;
+
+    private static final KineticRole[] ROLES = KineticRole.values();
+
+    // Toggled block and its level; null when off
+    @Nullable
+    private static BlockPos anchor;
+    @Nullable
+    private static Level level;
+    private static long lastRequest;
+
+    // Readings being gathered for a new member set
+    @Nullable
+    private static long[] gathering;
+    private static byte[] gatherRoles = new byte[0];
+    private static float[] gatherLoads = new float[0];
+    private static int gathered;
+
+    // Readings of the latest submitted build
+    @Nullable
+    private static long[] shownMembers;
+    private static byte[] shownRoles = new byte[0];
+    private static float[] shownLoads = new float[0];
+    private static long submitted;
+
+    // Render thread: uploaded mesh
+    @Nullable
+    private static VertexBuffer vertexBuffer;
+    private static boolean hasMesh;
+    private static long meshOrigin;
+    private static final Matrix4f MODEL_VIEW = new Matrix4f();
+
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+
+    /**
+     * Show the heatmap for the network of {@code target}, or hide it if shown.
+     */
+    static void toggle(@Nullable final BlockEntity target) {
+        if (anchor != null) {
+            disable();
+            CreateAnalyzerLite.LOGGER.info("Heatmap off");
+            return;
+        }
+        if (target == null) {
+            return;
+        }
+        anchor = target.getBlockPos().immutable();
+        level = target.getLevel();
+        lastRequest = Long.MIN_VALUE;
+        CreateAnalyzerLite.LOGGER.info("Heatmap: {}", anchor);
+    }
+
+    /**
+     * Follow the network and gather readings for a rebuild. Call once per
+     * client tick.
+     */
+    public static void tick(final Level level, final ConfigData config) {
+        final BlockPos pos = anchor;
+        if (pos == null) {
+            return;
+        }
+        if (level != NetworkHeatmap.level) {
+            disable();
+            return;
+        }
+        final BlockEntity be = level.getBlockEntity(pos);
+        if (!CreateAccess.isKinetic(be)) {
+            disable();
+            CreateAnalyzerLite.LOGGER.info("Heatmap off: {} is gone", pos);
+            return;
+        }
+
+        final long now = level.getGameTime();
+        if (gathering == null) {
+            final long[] members = KineticQuery.members(be, now, config);
+            if (members == null) {
+                // Not measured (or invalidated): ask for it, without crowding out the crosshair
+                if (!KineticQuery.busy() && now - lastRequest >= config.minSampleTicks()) {
+                    KineticQuery.requestAsync(be, config);
+                    lastRequest = now;
+                }
+                return;
+            }
+            if (members == shownMembers) {
+                return;
+            }
+            gathering = members;
+            gatherRoles = new byte[members.length];
+            gatherLoads = new float[members.length];
+            gathered = 0;
+        }
+        final long start = StageProfiler.start();
+        gather(level, config.traversalBudgetMicros() * 1_000L, Theme.resolve(config));
+        StageProfiler.end(Stage.WORLD, start);
+    }
+
+    private static void gather(final Level level, final long budgetNanos, final Theme theme) {
+        final long[] members = gathering;
+        if (members == null) {
+            return;
+        }
+        final long deadline = System.nanoTime() + budgetNanos;
+        while (gathered < members.length) {
+            final int i = gathered++;
+            final BlockEntity be = level.getBlockEntity(CURSOR.set(members[i]));
+            if (!CreateAccess.isKinetic(be)) {
+                gatherRoles[i] = (byte) KineticRole.NONE.ordinal();
+            } else {
+                final Block block = be.getBlockState().getBlock();
+                final KineticRole role = StressTable.role(block);
+                final float rpm = Math.abs(CreateAccess.speed(be));
+                gatherRoles[i] = (byte) role.ordinal();
+                gatherLoads[i] = switch (role) {
+                    case CONSUMER -> StressTable.impact(block) * rpm;
+                    case GENERATOR -> StressTable.capacity(block) * rpm;
+                    default -> 0.0f;
+                };
+            }
+            if ((i & 63) == 63 && System.nanoTime() - deadline >= 0) {
+                return;
+            }
+        }
+        gathering = null;
+
+        // Same blocks, same readings: the uploaded mesh is still right
+        if (Arrays.equals(members, shownMembers) && Arrays.equals(gatherRoles, shownRoles)
+            && Arrays.equals(gatherLoads, shownLoads)) {
+            shownMembers = members;
+            return;
+        }
+        shownMembers = members;
+        shownRoles = gatherRoles;
+        shownLoads = gatherLoads;
+        final BlockPos pos = anchor;
+        if (pos != null) {
+            submit(new Job(pos.asLong(), members, gatherRoles, gatherLoads, theme, ++submitted));
+        }
+    }
+
+    /**
+     * Upload a finished mesh and draw the heatmap.
+     */
+    public static void onRenderLevel(final RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_TRANSLUCENT_BLOCKS) {
+            return;
+        }
+        final long profileStart = StageProfiler.start();
+        final Mesh built = BUILT.getAndSet(null);
+        if (built != null) {
+            if (anchor != null && built.seq() == submitted) {
+                upload(built);
+            } else {
+                built.close();
+            }
+        }
+        final VertexBuffer buffer = vertexBuffer;
+        if (anchor == null || buffer == null || !hasMesh) {
+            if (built != null) {
+                StageProfiler.end(Stage.WORLD, profileStart); // Frames without a heatmap are not sampled
+            }
+            return;
+        }
+        final long start = System.nanoTime();
+
+        final Vec3 cam = event.getCamera().getPosition();
+        // The event's pose stack lacks the camera rotation; the model-view matrix has it
+        MODEL_VIEW.set(event.getModelViewMatrix()).translate(
+            (float) (BlockPos.getX(meshOrigin) - cam.x),
+            (float) (BlockPos.getY(meshOrigin) - cam.y),
+            (float) (BlockPos.getZ(meshOrigin) - cam.z)
+        );
+
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.enableDepthTest();
+        RenderSystem.depthMask(false);
+        buffer.bind();
+        buffer.drawWithShader(MODEL_VIEW, event.getProjectionMatrix(), GameRenderer.getPositionColorShader());
+        VertexBuffer.unbind();
+        RenderSystem.depthMask(true);
+        RenderSystem.disableBlend();
+
+        StageProfiler.end(Stage.WORLD, profileStart);
+        FrameGovernor.addCost(System.nanoTime() - start);
+    }
+
+    private static void upload(final Mesh built) {
+        try {
+            final MeshData data = built.data();
+            hasMesh = data != null;
+            if (data == null) {
+                return;
+            }
+            VertexBuffer buffer = vertexBuffer;
+            if (buffer == null) {
+                buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+                vertexBuffer = buffer;
+            }
+            buffer.bind();
+            buffer.upload(data); // Closes the mesh data
+            VertexBuffer.unbind();
+            meshOrigin = built.origin();
+        } finally {
+            built.memory().close();
+        }
+    }
+
+    private static void disable() {
+        anchor = null;
+        level = null;
+        gathering = null;
+        shownMembers = null;
+        shownRoles = new byte[0];
+        shownLoads = new float[0];
+        submitted++; // Outdates any build in flight
+        hasMesh = false;
+        final VertexBuffer buffer = vertexBuffer;
+        if (buffer != null) {
+            vertexBuffer = null;
+            buffer.close();
+        }
+    }
+
+    /**
+     * @return true while the heatmap is shown
+     */
+    public static boolean isActive() {
+        return anchor != null;
+    }
+
+    // ====== background build ======
+
+    private static void submit(final Job job) {
+        if (PENDING.getAndSet(job) == null) {
+            EXECUTOR.execute(NetworkHeatmap::drain);
+        }
+    }
+
+    private static void drain() {
+        final Job job = PENDING.getAndSet(null);
+        if (job == null) {
+            return;
+        }
+        try {
+            final Mesh mesh = build(job);
+            final Mesh replaced = BUILT.getAndSet(mesh);
+            if (replaced != null) {
+                replaced.close();
+            }
+        } catch (final RuntimeException e) {
+            CreateAnalyzerLite.LOGGER.debug("Heatmap build failed: {}", e.getMessage());
+        }
+    }
+
+    private static Mesh build(final Job job) {
+        final long[] members = job.members();
+        final byte[] roles = job.roles();
+        final float[] loads = job.loads();
+        final Theme theme = job.theme();
+
+        // Drawn members, to leave out faces between two of them
+        final LongIntMap drawn = new LongIntMap(members.length);
+        float maxLoad = 0.0f;
+        for (int i = 0; i < members.length; i++) {
+            if (roles[i] == KineticRole.NONE.ordinal()) {
+                continue;
+            }
+            drawn.put(members[i], i);
+            if (roles[i] == KineticRole.CONSUMER.ordinal()) {
+                maxLoad = Math.max(maxLoad, loads[i]);
+            }
+        }
+
+        final ByteBufferBuilder memory = new ByteBufferBuilder(Math.max(256, drawn.size() * 3 * 4 * 16));
+        final BufferBuilder buffer = new BufferBuilder(memory, VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+        final long origin = job.origin();
+        final int ox = BlockPos.getX(origin);
+        final int oy = BlockPos.getY(origin);
+        final int oz = BlockPos.getZ(origin);
+        for (int i = 0; i < members.length; i++) {
+            if (roles[i] == KineticRole.NONE.ordinal()) {
+                continue;
+            }
+            final long pos = members[i];
+            final int x = BlockPos.getX(pos);
+            final int y = BlockPos.getY(pos);
+            final int z = BlockPos.getZ(pos);
+            box(buffer, drawn, x, y, z, x - ox, y - oy, z - oz, tint(ROLES[roles[i]], loads[i], maxLoad, theme));
+        }
+        return new Mesh(job.seq(), origin, buffer.build(), memory);
+    }
+
+    private static int tint(final KineticRole role, final float load, final float maxLoad, final Theme theme) {
+        return switch (role) {
+            case GENERATOR -> ColorUtil.withAlpha(theme.accent(), MEMBER_ALPHA / 255.0);
+            case CONSUMER -> {
+                final float share = (maxLoad > 0.0f) ? load / maxLoad : 0.0f;
+                final int rgb = (share < 0.5f)
+                    ? ColorUtil.blend(theme.stressSafe(), theme.stressWarn(), share * 2.0f)
+                    : ColorUtil.blend(theme.stressWarn(), theme.stressDanger(), (share - 0.5f) * 2.0f);
+                yield ColorUtil.withAlpha(rgb, MEMBER_ALPHA / 255.0);
+            }
+            default -> ColorUtil.withAlpha(theme.textSecondary(), TRANSMISSION_ALPHA / 255.0);
+        };
+    }
+
+    /**
+     * One box around a block, faces shared with another drawn member left out.
+     *
+     * @param x World position (neighbour lookups)
+     * @param rx Position relative to the mesh origin (vertices)
+     */
+    private static void box(
+        final BufferBuilder buffer, final LongIntMap drawn,
+        final int x, final int y, final int z,
+        final int rx, final int ry, final int rz,
+        final int color
+    ) {
+        final float x0 = rx - INFLATE;
+        final float y0 = ry - INFLATE;
+        final float z0 = rz - INFLATE;
+        final float x1 = rx + 1 + INFLATE;
+        final float y1 = ry + 1 + INFLATE;
+        final float z1 = rz + 1 + INFLATE;
+        // Counter-clockwise seen from outside
+        if (!drawn.containsKey(BlockPos.asLong(x, y - 1, z))) {
+            face(buffer, color, x0, y0, z0, x1, y0, z0, x1, y0, z1, x0, y0, z1);
+        }
+        if (!drawn.containsKey(BlockPos.asLong(x, y + 1, z))) {
+            face(buffer, color, x0, y1, z0, x0, y1, z1, x1, y1, z1, x1, y1, z0);
+        }
+        if (!drawn.containsKey(BlockPos.asLong(x, y, z - 1))) {
+            face(buffer, color, x0, y0, z0, x0, y1, z0, x1, y1, z0, x1, y0, z0);
+        }
+        if (!drawn.containsKey(BlockPos.asLong(x, y, z + 1))) {
+            face(buffer, color, x0, y0, z1, x1, y0, z1, x1, y1, z1, x0, y1, z1);
+        }
+        if (!drawn.containsKey(BlockPos.asLong(x - 1, y, z))) {
+            face(buffer, color, x0, y0, z0, x0, y0, z1, x0, y1, z1, x0, y1, z0);
+        }
+        if (!drawn.containsKey(BlockPos.asLong(x + 1, y, z))) {
+            face(buffer, color, x1, y0, z0, x1, y1, z0, x1, y1, z1, x1, y0, z1);
+        }
+    }
+
+    private static void face(
+        final BufferBuilder buffer, final int color,
+        final float ax, final float ay, final float az,
+        final float bx, final float by, final float bz,
+        final float cx, final float cy, final float cz,
+        final float dx, final float dy, final float dz
+    ) {
+        buffer.addVertex(ax, ay, az).setColor(color);
+        buffer.addVertex(bx, by, bz).setColor(color);
+        buffer.addVertex(cx, cy, cz).setColor(color);
+        buffer.addVertex(dx, dy, dz).setColor(color);
+    }
+
+    private record Job(long origin, long[] members, byte[] roles, float[] loads, Theme theme, long seq) {}
+
+    /** Built mesh; {@code memory} backs {@code data} and is freed after upload. */
+    private record Mesh(long seq, long origin, @Nullable MeshData data, ByteBufferBuilder memory) {
+        void close() {
+            if (data != null) {
+                data.close();
+            }
+            memory.close();
+        }
+    }
+
+    private NetworkHeatmap() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
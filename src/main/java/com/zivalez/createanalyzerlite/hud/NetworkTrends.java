@@ -0,0 +1,110 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
+import com.zivalez.createanalyzerlite.util.FloatRingBuffer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import javax.annotation.Nullable;
+
+/**
+ * Recent stress ratio and RPM per network, for the expanded-mode sparkline.
+ * <p>
+ * Values come from the data the HUD already shows, recorded at most once per
+ * sample interval, so no extra estimation is done. Each network keeps two
+ * {@link FloatRingBuffer}s of {@value #CAPACITY} samples (1 KiB); at most
+ * {@value #SLOTS} networks are tracked, the least recently shown one is
+ * replaced. A network is recognised from any of its blocks through the
+ * membership index. Render thread only.
+ */
+final class NetworkTrends {
+
+    static final int CAPACITY = 128;
+    private static final int SLOTS = 8;
+
+    private static final Trend[] TRENDS = new Trend[SLOTS];
+
+    static {
+        for (int i = 0; i < SLOTS; i++) {
+            TRENDS[i] = new Trend();
+        }
+    }
+
+    /**
+     * Find or claim the trend of {@code target}'s network and record
+     * {@code kd} if the sample interval has passed.
+     */
+    static Trend sample(final BlockEntity target, final KineticData kd, final long tick, final int intervalTicks) {
+        final Trend trend = find(target);
+        if (trend.samples == 0 || tick - trend.lastSampleTick >= intervalTicks || tick < trend.lastSampleTick) {
+            trend.ratio.add((float) kd.stressRatio());
+            trend.rpm.add(kd.speed());
+            trend.lastSampleTick = tick;
+            trend.samples++;
+        }
+        trend.lastShownTick = tick;
+        return trend;
+    }
+
+    /**
+     * Forget all networks (e.g. on level change).
+     */
+    static void clear() {
+        for (final Trend trend : TRENDS) {
+            trend.reset(null);
+        }
+    }
+
+    private static Trend find(final BlockEntity target) {
+        final BlockPos pos = target.getBlockPos();
+        for (final Trend trend : TRENDS) {
+            if (pos.equals(trend.anchor)) {
+                return trend;
+            }
+        }
+        Trend oldest = TRENDS[0];
+        for (final Trend trend : TRENDS) {
+            if (trend.anchor != null && KineticQuery.sameNetwork(target, trend.anchor)) {
+                return trend;
+            }
+            if (trend.anchor == null || trend.lastShownTick < oldest.lastShownTick) {
+                oldest = trend;
+            }
+        }
+        oldest.reset(pos);
+        return oldest;
+    }
+
+    /** Sample history of one network. */
+    static final class Trend {
+
+        final FloatRingBuffer ratio = new FloatRingBuffer(CAPACITY);
+        final FloatRingBuffer rpm = new FloatRingBuffer(CAPACITY);
+
+        @Nullable
+        private BlockPos anchor;
+        private long lastSampleTick;
+        private long lastShownTick = Long.MIN_VALUE;
+        private int samples;
+
+        /**
+         * @return Count of samples ever added; changes whenever the buffers do
+         */
+        int version() {
+            return samples;
+        }
+
+        private void reset(@Nullable final BlockPos anchor) {
+            this.anchor = anchor;
+            ratio.clear();
+            rpm.clear();
+            samples = 0;
+            lastShownTick = Long.MIN_VALUE;
+        }
+    }
+
+    private NetworkTrends() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
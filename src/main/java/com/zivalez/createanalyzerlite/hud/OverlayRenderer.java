@@ -1,28 +1,43 @@
 package com.zivalez.createanalyzerlite.hud;
 
-import com.mojang.blaze3d.vertex.PoseStack;
 import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
 import com.zivalez.createanalyzerlite.config.ClientConfig;
 import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.FrameGovernor;
+import com.zivalez.createanalyzerlite.diagnostics.OverlayFrameEvent;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
+import com.zivalez.createanalyzerlite.history.MetricsHistory;
 import com.zivalez.createanalyzerlite.integration.create.CreatePresent;
 import com.zivalez.createanalyzerlite.integration.create.KineticData;
 import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
 import com.zivalez.createanalyzerlite.probe.TargetSelector;
+import com.zivalez.createanalyzerlite.util.AdaptiveSampler;
+import com.zivalez.createanalyzerlite.util.CharFormatter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.client.event.RenderGuiEvent;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 
 /**
  * Overlay renderer (UI-only).
  * - Uses existing helpers: Theme.resolve, Widgets.panel/text/stressBar/badge, LayoutEngine.*.
  * - Default mode follows config (set default to EXPANDED in ClientConfig).
  * - Compact: adaptive width (no overflow), dynamic panel height.
- * - Expanded: adds Load% and clearer capacity line.
+ * - Expanded: adds Load% and clearer capacity line, plus a sparkline of recent load and RPM ({@link NetworkTrends}).
+ * - Estimates are requested by an {@link AdaptiveSampler}: back off while readings hold, fast again on change.
+ * - Panel is cached in a {@link PanelTexture} and composited as one quad per frame.
+ * - Watched networks ({@link Watchlist}) are stacked compact rows in a second cached panel next to the HUD.
+ * - Pipeline stages are timed by {@link StageProfiler}; its {@link ProfilerPanel} sits beside the HUD.
+ * - Each frame's overlay work is a JFR {@link OverlayFrameEvent}.
+ * - Settings come through {@link FrameGovernor}, which lowers limits and forces compact under frame pressure (shown as a ▼ badge).
  */
 public final class OverlayRenderer {
 
@@ -34,81 +49,276 @@ public final class OverlayRenderer {
     @Nullable
     private static BlockPos lockedTarget = null;
 
-    // Simple throttle snapshot
-    private static long lastSampleTick = 0L;
+    // Panel image, redrawn only when its inputs change
+    private static final PanelTexture PANEL = new PanelTexture();
+
+    // Reused text buffers: HUD strings are formatted without allocation
+    private static final CharFormatter RPM_TEXT = new CharFormatter(24);
+    private static final CharFormatter NODES_TEXT = new CharFormatter(24);
+    private static final CharFormatter AUX_TEXT = new CharFormatter(32);
+
+    // Request throttle: estimates run on the worker, the frame only reads results
+    private static final AdaptiveSampler SAMPLER = new AdaptiveSampler();
+    @Nullable
+    private static BlockPos lastSamplePos = null;
+    @Nullable
+    private static KineticData lastSampled = null;
+    private static boolean servedFromCache = false;
+
+    // Last HUD placement, for the profiler panel
+    private static int hudX = 0;
+    private static int hudY = 0;
+    private static int hudW = 0;
+    private static int hudH = 0;
+
+    // Watchlist rows, redrawn only when the list or a result changes
+    private static final PanelTexture WATCH_PANEL = new PanelTexture();
     @Nullable
-    private static KineticData lastData = null;
+    private static KineticData lastOffered = null;
+
+    // Set when this frame redrew the panel texture
+    private static boolean panelRebuilt = false;
+
+    // Level the trends belong to
+    @Nullable
+    private static Level trendLevel = null;
+
+    private static final int SPARK_H = 14;
 
     @SubscribeEvent
     public static void onRenderGui(final RenderGuiEvent.Post evt) {
-        if (!overlayEnabled) return;
-        if (!CreatePresent.isLoaded()) return;
+        final long frameStart = System.nanoTime();
+        final OverlayFrameEvent frameEvent = new OverlayFrameEvent();
+        frameEvent.begin();
+        StageProfiler.frame();
+        panelRebuilt = false;
+        final KineticData shown = renderHud(evt.getGuiGraphics());
+        renderWatchlist(evt.getGuiGraphics(), shown != null);
+
+        if (StageProfiler.isEnabled()) {
+            final Minecraft mc = Minecraft.getInstance();
+            final ConfigData cfg = FrameGovernor.config();
+            ProfilerPanel.render(evt.getGuiGraphics(), Theme.resolve(cfg), cfg.opacity(), cfg.padding(), hudX, hudY, hudW,
+                mc.getWindow().getGuiScaledWidth(), mc.getWindow().getGuiScaledHeight());
+        }
+
+        if (frameEvent.shouldCommit()) {
+            frameEvent.describe(shown != null, panelRebuilt, shown != null ? shown.nodes() : -1);
+            frameEvent.commit();
+        }
+        FrameGovernor.frame(frameStart, System.nanoTime() - frameStart);
+    }
+
+    /**
+     * @return Data shown this frame, or null if the HUD was not drawn
+     */
+    @Nullable
+    private static KineticData renderHud(final GuiGraphics gfx) {
+        if (!overlayEnabled) return null;
+        if (!CreatePresent.isLoaded()) return null;
 
         final Minecraft mc = Minecraft.getInstance();
-        if (mc.player == null || mc.level == null) return;
+        if (mc.player == null || mc.level == null) return null;
 
-        final ConfigData cfg = ConfigData.fromSpec();
-        if (cfg.hideInMenus() && mc.screen != null) return;
-        if (!cfg.hasAnyContent()) return;
+        final ConfigData cfg = FrameGovernor.config();
+        if (cfg.hideInMenus() && mc.screen != null) return null;
+        if (!cfg.hasAnyContent()) return null;
 
         if (currentMode == null) {
             currentMode = cfg.defaultDisplayMode(); // default EXPANDED via ClientConfig
         }
 
+        final long targetStart = StageProfiler.start();
         final BlockEntity target = (lockedTarget != null)
             ? mc.level.getBlockEntity(lockedTarget)
             : TargetSelector.getTargetedKineticBlock(mc);
+        StageProfiler.end(Stage.TARGET, targetStart);
 
-        if (target == null) return;
+        if (target == null) return null;
 
         final KineticData kd = queryKineticData(target, mc, cfg);
-        if (kd == null) return;
+        if (kd == null) return null;
+
+        // Locked targets are watched: keep their history
+        if (lockedTarget != null) {
+            MetricsHistory.record(mc.level.dimension(), lockedTarget, kd);
+        }
+
+        if (!kd.equals(lastOffered)) {
+            Watchlist.offer(target, kd, mc.level.getGameTime(), cfg);
+            lastOffered = kd;
+        }
+
+        if (mc.level != trendLevel) {
+            NetworkTrends.clear();
+            trendLevel = mc.level;
+        }
+        final NetworkTrends.Trend trend = NetworkTrends.sample(target, kd, mc.level.getGameTime(), cfg.minSampleTicks());
 
-        renderOverlay(evt.getGuiGraphics(), kd, cfg, mc);
+        renderOverlay(gfx, kd, trend, cfg, mc);
+        return kd;
     }
 
     @Nullable
     private static KineticData queryKineticData(final BlockEntity target, final Minecraft mc, final ConfigData cfg) {
         final long now = mc.level.getGameTime();
-        if (lastData != null && (now - lastSampleTick) < cfg.sampleEveryTicks()) return lastData;
 
-        final KineticData fresh = KineticQuery.query(target, cfg);
-        lastData = fresh;
-        lastSampleTick = now;
-        return fresh;
+        // Any block of a recently measured network is a single lookup
+        long queryStart = StageProfiler.start();
+        final KineticData cached = KineticQuery.cached(target, now, cfg);
+        if (cached != null) {
+            StageProfiler.end(Stage.QUERY, queryStart);
+            servedFromCache = true;
+            return cached;
+        }
+
+        // Moving to another block of the sampled network needs no new request
+        final BlockPos pos = target.getBlockPos();
+        final boolean sameNetwork = pos.equals(lastSamplePos)
+            || (lastSamplePos != null && KineticQuery.sameNetwork(target, lastSamplePos));
+        if (!sameNetwork) {
+            SAMPLER.reset(); // New target: sample fast again
+            lastSampled = null;
+        } else if (servedFromCache) {
+            SAMPLER.reset(); // Cached result was invalidated: the network changed
+        }
+        servedFromCache = false;
+
+        // Never blocks: draw the latest result the worker published, or the
+        // last sample if another request has taken the published slot since
+        KineticData latest = KineticQuery.latest(target);
+        if (latest == null && lastSampled != null) {
+            latest = KineticQuery.withSpeedOf(target, lastSampled);
+        }
+        StageProfiler.end(Stage.QUERY, queryStart);
+
+        // Speed is read live, so a moving value is seen without a traversal
+        if (latest != null && lastSampled != null && latest.speed() != lastSampled.speed()) {
+            SAMPLER.reset();
+        }
+        if (SAMPLER.due(now, cfg.minSampleTicks(), cfg.maxSampleTicks())) {
+            SAMPLER.sampled(now, latest == null || !latest.sameReadings(lastSampled), cfg.minSampleTicks(), cfg.maxSampleTicks());
+            if (latest != null) {
+                lastSampled = latest;
+            }
+            KineticQuery.requestAsync(target, cfg); // Timed as BFS
+            lastSamplePos = pos;
+        }
+        return latest;
     }
 
-    private static void renderOverlay(final GuiGraphics gfx, final KineticData kd, final ConfigData cfg, final Minecraft mc) {
-        final PoseStack pose = gfx.pose();
-        pose.pushPose();
-        try {
+    private static void renderOverlay(final GuiGraphics gfx, final KineticData kd, final NetworkTrends.Trend trend,
+                                      final ConfigData cfg, final Minecraft mc) {
+        final long layoutStart = StageProfiler.start();
+        final boolean expanded = (currentMode == ClientConfig.DisplayMode.EXPANDED) && !FrameGovernor.forceCompact();
+        final boolean locked = (lockedTarget != null);
+        final int baseW = LayoutEngine.baseWidth(expanded);
+        final int pad = cfg.padding();
+
+        final int screenW = mc.getWindow().getGuiScaledWidth();
+        final int screenH = mc.getWindow().getGuiScaledHeight();
+        final double guiScale = mc.getWindow().getGuiScale();
+
+        // --- dynamic panel height (avoid overflow) ---
+        final int panelH = expanded ? calcExpandedHeight(pad) : calcCompactHeight(pad);
+
+        final int x = LayoutEngine.computeX(cfg.anchor(), screenW, baseW, cfg.offsetX(), cfg.scale());
+        final int y = LayoutEngine.computeY(cfg.anchor(), screenH, panelH, cfg.offsetY(), cfg.scale());
+
+        final float scale = (float) cfg.scale();
+        hudX = x;
+        hudY = y;
+        hudW = (int) Math.ceil(baseW * scale);
+        hudH = (int) Math.ceil(panelH * scale);
+        StageProfiler.end(Stage.LAYOUT, layoutStart);
+
+        // Redraw the cached panel only when its inputs changed
+        final long drawStart = StageProfiler.start();
+        final int configVersion = FrameGovernor.version();
+        final int trendVersion = expanded ? trend.version() : 0;
+        if (!PANEL.isCurrent(kd, expanded, locked, configVersion, trendVersion, guiScale, baseW, panelH)) {
             final Theme theme = Theme.resolve(cfg);
-            final boolean expanded = (currentMode == ClientConfig.DisplayMode.EXPANDED);
-            final int baseW = LayoutEngine.baseWidth(expanded);
-            final int pad = cfg.padding();
+            panelRebuilt = true;
+            PANEL.rebuild(gfx, kd, expanded, locked, configVersion, trendVersion, cfg.scale(), guiScale, baseW, panelH, g -> {
+                Widgets.panel(g, 0, 0, baseW, panelH, theme, cfg.opacity());
+                if (expanded) {
+                    drawExpanded(g, kd, trend, theme, baseW, pad);
+                } else {
+                    drawCompact(g, kd, theme, baseW, pad);
+                }
+            });
+        }
 
-            final int screenW = mc.getWindow().getGuiScaledWidth();
-            final int screenH = mc.getWindow().getGuiScaledHeight();
+        PANEL.blit(gfx, x, y, baseW * scale, panelH * scale);
+        StageProfiler.end(Stage.DRAW, drawStart);
+    }
 
-            // --- dynamic panel height (avoid overflow) ---
-            final int panelH = expanded ? calcExpandedHeight(pad) : calcCompactHeight(pad);
+    /**
+     * Draw the watched networks as one row each, next to the HUD panel (below
+     * it for top anchors, above it for bottom anchors) or at the anchor when
+     * the HUD is hidden.
+     */
+    private static void renderWatchlist(final GuiGraphics gfx, final boolean hudShown) {
+        final int rows = Watchlist.size();
+        if (rows == 0 || !overlayEnabled || !CreatePresent.isLoaded()) return;
 
-            final int x = LayoutEngine.computeX(cfg.anchor(), screenW, baseW, cfg.offsetX(), cfg.scale());
-            final int y = LayoutEngine.computeY(cfg.anchor(), screenH, panelH, cfg.offsetY(), cfg.scale());
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null || mc.level == null) return;
 
-            pose.translate(x, y, 0);
-            pose.scale((float) cfg.scale(), (float) cfg.scale(), 1.0f);
+        final ConfigData cfg = FrameGovernor.config();
+        if (cfg.hideInMenus() && mc.screen != null) return;
 
-            Widgets.panel(gfx, 0, 0, baseW, panelH, theme, cfg.opacity());
+        final long layoutStart = StageProfiler.start();
+        final int pad = cfg.padding();
+        final int rowH = mc.font.lineHeight + 2;
+        final int baseW = LayoutEngine.baseWidth(false);
+        final int panelH = rows * rowH + pad * 2;
+        final float scale = (float) cfg.scale();
+        final double guiScale = mc.getWindow().getGuiScale();
+
+        final int screenW = mc.getWindow().getGuiScaledWidth();
+        final int screenH = mc.getWindow().getGuiScaledHeight();
+        final int x = LayoutEngine.computeX(cfg.anchor(), screenW, baseW, cfg.offsetX(), cfg.scale());
+        int y = LayoutEngine.computeY(cfg.anchor(), screenH, panelH, cfg.offsetY(), cfg.scale());
+        if (hudShown) {
+            y = switch (cfg.anchor()) {
+                case TOP_LEFT, TOP_RIGHT -> hudY + hudH + 2;
+                case BOTTOM_LEFT, BOTTOM_RIGHT -> hudY - (int) Math.ceil(panelH * scale) - 2;
+            };
+        }
+        StageProfiler.end(Stage.LAYOUT, layoutStart);
 
-            if (expanded) {
-                drawExpanded(gfx, kd, theme, baseW, pad);
-            } else {
-                drawCompact(gfx, kd, theme, baseW, pad);
-            }
-        } finally {
-            pose.popPose();
+        final long drawStart = StageProfiler.start();
+        final int configVersion = FrameGovernor.version();
+        final int watchVersion = Watchlist.version();
+        if (!WATCH_PANEL.isCurrent(null, false, false, configVersion, watchVersion, guiScale, baseW, panelH)) {
+            final Theme theme = Theme.resolve(cfg);
+            panelRebuilt = true;
+            WATCH_PANEL.rebuild(gfx, null, false, false, configVersion, watchVersion, cfg.scale(), guiScale, baseW, panelH, g -> {
+                Widgets.panel(g, 0, 0, baseW, panelH, theme, cfg.opacity());
+                for (int i = 0; i < rows; i++) {
+                    final KineticData kd = Watchlist.data(i);
+                    final int rowY = pad - 1 + i * rowH;
+                    if (kd != null) {
+                        Widgets.compactRow(g, pad, rowY, baseW - pad * 2, theme, kd);
+                    } else {
+                        Widgets.text(g, "...", pad, rowY, theme.textSecondary());
+                    }
+                }
+            });
         }
+        WATCH_PANEL.blit(gfx, x, y, baseW * scale, panelH * scale);
+        StageProfiler.end(Stage.DRAW, drawStart);
+    }
+
+    /**
+     * Force the cached panel to redraw and glyph widths to be re-measured
+     * (e.g. after fonts reloaded).
+     */
+    public static void invalidatePanel() {
+        PANEL.invalidate();
+        WATCH_PANEL.invalidate();
+        TextMetrics.invalidate();
     }
 
     // ====== sizing helpers ======
@@ -120,8 +330,8 @@ public final class OverlayRenderer {
 
     private static int calcExpandedHeight(final int pad) {
         final int lh = Minecraft.getInstance().font.lineHeight;
-        // header (lh) + gap(2) + bar(8) + gap(6) + row(lh) + pad*2
-        return lh + 2 + 8 + 6 + lh + pad * 2;
+        // header (lh) + gap(2) + bar(8) + gap(6) + row(lh) + gap(3) + sparkline + pad*2
+        return lh + 2 + 8 + 6 + lh + 3 + SPARK_H + pad * 2;
     }
 
     // ====== COMPACT ======
@@ -133,37 +343,38 @@ public final class OverlayRenderer {
         final int contentW = width - pad * 2;
 
         // text: RPM
-        final int rpmAbs = Math.abs((int) kd.speed());
-        final String rpm = "RPM " + (kd.speed() < 0 ? "-" : "") + rpmAbs;
-        final int rpmW = font.width(rpm);
+        final CharFormatter rpm = formatRpm(kd);
+        final int rpmW = TextMetrics.width(font, rpm);
 
         // text: Nodes (may be ellipsized)
-        final String nodesFull = "Nodes " + kd.nodes();
-        int nodesW = font.width(nodesFull);
+        final CharFormatter nodes = NODES_TEXT.clear().append("Nodes ").append(kd.nodes());
+        int nodesW = TextMetrics.width(font, nodes);
 
         // reserve space for badges (≈ and 🔒) only if needed
         final boolean approx = kd.stressApproximate() || kd.nodesApproximate();
         final boolean locked = (lockedTarget != null);
-        final int badgesW = (approx ? 14 : 0) + (locked ? 14 : 0);
+        final String governed = FrameGovernor.level().badge();
+        final int governedW = governed.isEmpty() ? 0 : font.width(governed) + 10;
+        final int badgesW = (approx ? 14 : 0) + (locked ? 14 : 0) + governedW;
 
         // compute bar width adaptively
         int remaining = contentW - rpmW - 8 /*gap*/ - nodesW - 6 /*gap*/ - badgesW;
         int barW = Math.max(32, Math.min(Math.max(40, contentW / 3), remaining));
 
         // if still negative, shrink nodes text (ellipsis) or drop it
-        String nodesToDraw = nodesFull;
+        boolean drawNodes = true;
         if (barW < 32) {
             // try reduce nodes first
             final int maxNodesW = Math.max(0, contentW - rpmW - 8 - 32 - 6 - badgesW);
             if (maxNodesW <= 12) {
                 // no space for nodes at all
-                nodesToDraw = null;
+                drawNodes = false;
                 nodesW = 0;
                 remaining = contentW - rpmW - 8 - badgesW;
                 barW = Math.max(32, remaining);
             } else {
-                nodesToDraw = ellipsize(nodesFull, maxNodesW, font);
-                nodesW = font.width(nodesToDraw);
+                TextMetrics.ellipsize(font, nodes, maxNodesW);
+                nodesW = TextMetrics.width(font, nodes);
                 remaining = contentW - rpmW - 8 - nodesW - 6 - badgesW;
                 barW = Math.max(32, remaining);
             }
@@ -179,8 +390,8 @@ public final class OverlayRenderer {
         x += barW + 8;
 
         // draw nodes (if any)
-        if (nodesToDraw != null) {
-            Widgets.text(gfx, nodesToDraw, x, y, theme.textSecondary());
+        if (drawNodes) {
+            Widgets.text(gfx, nodes, x, y, theme.textSecondary());
             x += nodesW + 6;
         }
 
@@ -191,35 +402,31 @@ public final class OverlayRenderer {
         }
         if (locked) {
             Widgets.badge(gfx, "🔒", x, y - 2, theme);
+            x += 14;
+        }
+        if (governedW > 0) {
+            Widgets.badge(gfx, governed, x, y - 2, theme);
         }
     }
 
-    // ellipsize helper (fits within maxW pixels)
-    private static String ellipsize(final String s, final int maxW, final net.minecraft.client.gui.Font font) {
-        if (font.width(s) <= maxW) return s;
-        final String ell = "...";
-        final int ellW = font.width(ell);
-        int lo = 0, hi = s.length();
-        while (lo < hi) {
-            final int mid = (lo + hi) >>> 1;
-            final String cut = s.substring(0, mid) + ell;
-            if (font.width(cut) <= maxW) lo = mid + 1;
-            else hi = mid;
+    // "RPM -12": whole RPM, sign kept
+    private static CharFormatter formatRpm(final KineticData kd) {
+        RPM_TEXT.clear().append("RPM ");
+        if (kd.speed() < 0) {
+            RPM_TEXT.append('-');
         }
-        final int take = Math.max(0, lo - 1);
-        return (take <= 0) ? ell : s.substring(0, take) + ell;
+        return RPM_TEXT.append(Math.abs((int) kd.speed()));
     }
 
     // ====== EXPANDED ======
 
-    private static void drawExpanded(final GuiGraphics gfx, final KineticData kd, final Theme theme, final int width, final int pad) {
+    private static void drawExpanded(final GuiGraphics gfx, final KineticData kd, final NetworkTrends.Trend trend,
+                                     final Theme theme, final int width, final int pad) {
         final var font = Minecraft.getInstance().font;
         int y = pad;
 
         // RPM header
-        final int rpmAbs = Math.abs((int) kd.speed());
-        final String rpm = "RPM " + (kd.speed() < 0 ? "-" : "") + rpmAbs;
-        Widgets.text(gfx, rpm, pad, y, theme.textPrimary());
+        Widgets.text(gfx, formatRpm(kd), pad, y, theme.textPrimary());
         y += font.lineHeight + 2;
 
         // Stress bar full-width
@@ -227,22 +434,26 @@ public final class OverlayRenderer {
         Widgets.stressBar(gfx, pad, y, barW, 8, kd, theme);
 
         // Load % (right-aligned above/beside the bar)
-        final int pct = (int) Math.round(Math.max(0, Math.min(1, kd.stressRatio())) * 100.0);
-        final String loadPct = pct + "%";
-        final int pctX = pad + barW - font.width(loadPct);
+        final CharFormatter loadPct = AUX_TEXT.clear().appendPercent(Math.max(0, Math.min(1, kd.stressRatio())));
+        final int pctX = pad + barW - TextMetrics.width(font, loadPct);
         Widgets.text(gfx, loadPct, pctX, y - 1, theme.textSecondary());
 
         y += 8 + 6;
 
         // Capacity & Nodes on one row
         final int capacityInt = (int) Math.max(0, kd.stressRatio() * (kd.stressCapacity() <= 0 ? 0 : kd.stressCapacity()));
-        final String capacity = "Load " + capacityInt + " / " + (int) kd.stressCapacity();
+        final CharFormatter capacity = AUX_TEXT.clear()
+            .append("Load ").append(capacityInt).append(" / ").append((int) kd.stressCapacity());
         Widgets.text(gfx, capacity, pad, y, theme.textSecondary());
 
-        final String nodes = "Nodes " + kd.nodes();
-        final int nodesX = width - pad - font.width(nodes);
+        final CharFormatter nodes = NODES_TEXT.clear().append("Nodes ").append(kd.nodes());
+        final int nodesX = width - pad - TextMetrics.width(font, nodes);
         Widgets.text(gfx, nodes, nodesX, y, theme.textSecondary());
 
+        // Recent load (columns) and RPM (dots)
+        y += font.lineHeight + 3;
+        Widgets.sparkline(gfx, pad, y, barW, SPARK_H, trend.ratio, trend.rpm, theme);
+
         // badges top-right
         int badgeX = width - pad - 16;
         if (kd.stressApproximate() || kd.nodesApproximate()) {
@@ -251,6 +462,11 @@ public final class OverlayRenderer {
         }
         if (lockedTarget != null) {
             Widgets.badge(gfx, "🔒", badgeX, pad - 2, theme);
+            badgeX -= 18;
+        }
+        final String governed = FrameGovernor.level().badge();
+        if (!governed.isEmpty()) {
+            Widgets.badge(gfx, governed, badgeX - font.width(governed) + 8, pad - 2, theme);
         }
     }
 
@@ -267,6 +483,11 @@ public final class OverlayRenderer {
         CreateAnalyzerLite.LOGGER.debug("Display mode: {}", currentMode);
     }
 
+    public static void toggleProfiler() {
+        StageProfiler.toggle();
+        CreateAnalyzerLite.LOGGER.info("Profiler: {}", StageProfiler.isEnabled() ? "ON" : "OFF");
+    }
+
     public static void toggleLock() {
         final Minecraft mc = Minecraft.getInstance();
         if (mc.player == null || mc.level == null) return;
@@ -283,5 +504,61 @@ public final class OverlayRenderer {
         }
     }
 
+    /**
+     * Watch or unwatch the network under the crosshair (or the locked target).
+     */
+    public static void toggleWatch() {
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null || mc.level == null) return;
+
+        final BlockEntity be = (lockedTarget != null)
+            ? mc.level.getBlockEntity(lockedTarget)
+            : TargetSelector.getTargetedKineticBlock(mc);
+        if (be != null) {
+            Watchlist.toggle(be);
+        }
+    }
+
+    /**
+     * Show or hide the heatmap of the network under the crosshair (or the locked target).
+     */
+    public static void toggleHeatmap() {
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null || mc.level == null) return;
+
+        final BlockEntity be = (lockedTarget != null)
+            ? mc.level.getBlockEntity(lockedTarget)
+            : TargetSelector.getTargetedKineticBlock(mc);
+        NetworkHeatmap.toggle(be);
+    }
+
+    /**
+     * Export the recorded history of the locked target and every watched network as CSV.
+     */
+    public static void exportHistory() {
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null || mc.level == null) return;
+
+        int series = 0;
+        try {
+            if (lockedTarget != null && MetricsHistory.exportCsv(mc.level.dimension(), lockedTarget) >= 0) {
+                series++;
+            }
+            for (int i = 0; i < Watchlist.size(); i++) {
+                final BlockPos pos = BlockPos.of(Watchlist.position(i));
+                if (!pos.equals(lockedTarget) && MetricsHistory.exportCsv(mc.level.dimension(), pos) >= 0) {
+                    series++;
+                }
+            }
+        } catch (final IOException e) {
+            CreateAnalyzerLite.LOGGER.warn("History export failed: {}", e.getMessage());
+            mc.player.displayClientMessage(Component.literal("History export failed: " + e.getMessage()), true);
+            return;
+        }
+        mc.player.displayClientMessage(Component.literal(series == 0
+            ? "No locked or watched network to export"
+            : "Exported " + series + " history series to " + CreateAnalyzerLite.MOD_ID + "/exports"), true);
+    }
+
     private OverlayRenderer() { }
 }
@@ -0,0 +1,185 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Off-screen cache of the overlay panel.
+ * <p>
+ * The panel is drawn once into a {@link TextureTarget} at its on-screen pixel
+ * size and composited every frame as a single textured quad. It is redrawn
+ * only when something it shows changes: the data, display mode, lock state,
+ * config (by {@link com.zivalez.createanalyzerlite.config.ConfigSnapshot}
+ * version), extra content such as sparklines or watch rows (by content
+ * version) or GUI scale. Drawing into a transparent target leaves
+ * premultiplied colour, so the quad is blended with (ONE, ONE_MINUS_SRC_ALPHA).
+ * Render thread only.
+ */
+final class PanelTexture {
+
+    @Nullable
+    private TextureTarget target;
+    private boolean valid;
+
+    // Inputs of the cached image
+    @Nullable
+    private KineticData data;
+    private boolean expanded;
+    private boolean locked;
+    private int configVersion;
+    private int contentVersion;
+    private double guiScale;
+    private int width;
+    private int height;
+
+    /**
+     * @return true if the cached image shows exactly these inputs
+     */
+    boolean isCurrent(
+        @Nullable final KineticData data,
+        final boolean expanded,
+        final boolean locked,
+        final int configVersion,
+        final int contentVersion,
+        final double guiScale,
+        final int width,
+        final int height
+    ) {
+        return valid
+            && expanded == this.expanded
+            && locked == this.locked
+            && configVersion == this.configVersion
+            && contentVersion == this.contentVersion
+            && guiScale == this.guiScale
+            && width == this.width
+            && height == this.height
+            && Objects.equals(data, this.data);
+    }
+
+    /**
+     * Redraw the panel into the texture.
+     *
+     * @param gfx Frame's GUI graphics (flushed before and after)
+     * @param scale Overlay scale from config
+     * @param width Panel width in unscaled GUI units
+     * @param height Panel height in unscaled GUI units
+     * @param painter Draws the panel at the origin in unscaled GUI units
+     */
+    void rebuild(
+        final GuiGraphics gfx,
+        @Nullable final KineticData data,
+        final boolean expanded,
+        final boolean locked,
+        final int configVersion,
+        final int contentVersion,
+        final double scale,
+        final double guiScale,
+        final int width,
+        final int height,
+        final Consumer<GuiGraphics> painter
+    ) {
+        RenderSystem.assertOnRenderThread();
+        final int pixelW = Math.max(1, (int) Math.ceil(width * scale * guiScale));
+        final int pixelH = Math.max(1, (int) Math.ceil(height * scale * guiScale));
+
+        // Anything queued so far belongs to the main target
+        gfx.flush();
+
+        TextureTarget fbo = target;
+        if (fbo == null) {
+            fbo = new TextureTarget(pixelW, pixelH, true, Minecraft.ON_OSX);
+            target = fbo;
+        } else if (fbo.width != pixelW || fbo.height != pixelH) {
+            fbo.resize(pixelW, pixelH, Minecraft.ON_OSX);
+        }
+        fbo.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        fbo.clear(Minecraft.ON_OSX);
+        fbo.bindWrite(true);
+
+        final Matrix4f savedProjection = RenderSystem.getProjectionMatrix();
+        final VertexSorting savedSorting = RenderSystem.getVertexSorting();
+        RenderSystem.setProjectionMatrix(
+            new Matrix4f().setOrtho(0.0f, width, height, 0.0f, 1000.0f, 21000.0f),
+            VertexSorting.ORTHOGRAPHIC_Z
+        );
+
+        final PoseStack pose = gfx.pose();
+        pose.pushPose();
+        pose.setIdentity();
+        try {
+            painter.accept(gfx);
+            gfx.flush();
+        } finally {
+            pose.popPose();
+            RenderSystem.setProjectionMatrix(savedProjection, savedSorting);
+            Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+        }
+
+        this.data = data;
+        this.expanded = expanded;
+        this.locked = locked;
+        this.configVersion = configVersion;
+        this.contentVersion = contentVersion;
+        this.guiScale = guiScale;
+        this.width = width;
+        this.height = height;
+        this.valid = true;
+    }
+
+    /**
+     * Composite the cached panel as one quad.
+     *
+     * @param x Left edge in GUI units
+     * @param y Top edge in GUI units
+     * @param w On-screen width in GUI units (scale applied)
+     * @param h On-screen height in GUI units (scale applied)
+     */
+    void blit(final GuiGraphics gfx, final float x, final float y, final float w, final float h) {
+        final TextureTarget fbo = target;
+        if (fbo == null || !valid) {
+            return;
+        }
+        gfx.flush();
+
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, fbo.getColorTextureId());
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+
+        // Framebuffer rows run bottom-up: flip V
+        final Matrix4f matrix = gfx.pose().last().pose();
+        final BufferBuilder buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        buffer.addVertex(matrix, x, y, 0.0f).setUv(0.0f, 1.0f);
+        buffer.addVertex(matrix, x, y + h, 0.0f).setUv(0.0f, 0.0f);
+        buffer.addVertex(matrix, x + w, y + h, 0.0f).setUv(1.0f, 0.0f);
+        buffer.addVertex(matrix, x + w, y, 0.0f).setUv(1.0f, 1.0f);
+        BufferUploader.drawWithShader(buffer.buildOrThrow());
+
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    /**
+     * Force a redraw on next use (e.g. after a resource reload changed fonts).
+     */
+    void invalidate() {
+        valid = false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.zivalez.createanalyzerlite.diagnostics.Histogram;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
+import com.zivalez.createanalyzerlite.util.CharFormatter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * Debug panel with per-stage frame cost percentiles from {@link StageProfiler}.
+ * <p>
+ * Drawn directly every frame (its numbers change constantly, so the HUD's
+ * panel texture would not help), beside the HUD panel: to its right if it
+ * fits on screen, otherwise to its left. Values are in microseconds.
+ * Render thread only.
+ */
+final class ProfilerPanel {
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final double[] QUANTILES = {0.50, 0.95, 0.99};
+    private static final String[] HEADERS = {"p50", "p95", "p99", "max"};
+
+    private static final int LABEL_W = 40;
+    private static final int COLUMN_W = 36;
+    private static final int GAP = 4;
+
+    private static final CharFormatter TEXT = new CharFormatter(16);
+
+    /**
+     * @param hudX Left edge of the HUD panel in GUI units
+     * @param hudY Top edge of the HUD panel
+     * @param hudW On-screen width of the HUD panel
+     */
+    static void render(final GuiGraphics gfx, final Theme theme, final int opacity, final int pad,
+                       final int hudX, final int hudY, final int hudW, final int screenW, final int screenH) {
+        final var font = Minecraft.getInstance().font;
+        final int rowH = font.lineHeight + 1;
+        final int w = pad * 2 + LABEL_W + COLUMN_W * HEADERS.length;
+        final int h = pad * 2 + rowH * (STAGES.length + 2);
+
+        int x = hudX + hudW + GAP;
+        if (x + w > screenW) {
+            x = hudX - GAP - w;
+        }
+        x = Math.max(0, x);
+        final int y = Math.max(0, Math.min(hudY, screenH - h));
+
+        Widgets.panel(gfx, x, y, w, h, theme, opacity);
+        int rowY = y + pad;
+
+        // Title with window sample count
+        final Histogram first = StageProfiler.stats(STAGES[0]);
+        Widgets.text(gfx, TEXT.clear().append("Profiler µs (").append(first.count()).append(" frames)"),
+            x + pad, rowY, theme.textPrimary());
+        rowY += rowH;
+
+        for (int c = 0; c < HEADERS.length; c++) {
+            rightAligned(gfx, TEXT.clear().append(HEADERS[c]), x + pad + LABEL_W + COLUMN_W * (c + 1), rowY, theme.textSecondary());
+        }
+        rowY += rowH;
+
+        for (final Stage stage : STAGES) {
+            final Histogram stats = StageProfiler.stats(stage);
+            Widgets.text(gfx, TEXT.clear().append(stage.label()), x + pad, rowY, theme.textPrimary());
+            for (int c = 0; c < HEADERS.length; c++) {
+                final long nanos = (c < QUANTILES.length) ? stats.percentile(QUANTILES[c]) : stats.max();
+                rightAligned(gfx, TEXT.clear().appendFixed(nanos / 1_000.0, 1),
+                    x + pad + LABEL_W + COLUMN_W * (c + 1), rowY, theme.textPrimary());
+            }
+            rowY += rowH;
+        }
+    }
+
+    private static void rightAligned(final GuiGraphics gfx, final CharFormatter text, final int right, final int y, final int color) {
+        Widgets.text(gfx, text, right - TextMetrics.width(Minecraft.getInstance().font, text), y, color);
+    }
+
+    private ProfilerPanel() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
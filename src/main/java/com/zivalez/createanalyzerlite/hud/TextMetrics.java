@@ -0,0 +1,149 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.zivalez.createanalyzerlite.util.CharFormatter;
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.client.StringSplitter;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Style;
+import net.minecraft.util.FormattedCharSequence;
+import net.minecraft.util.FormattedCharSink;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Allocation-free measuring and drawing of plain HUD text.
+ * <p>
+ * Glyph advances are measured once per code point through the font's
+ * {@link StringSplitter} and cached (BMP in lazily allocated 256-entry pages, other code
+ * points in a primitive map), so {@link #width} sums array reads instead of
+ * building strings. The sum is rounded up like {@link Font#width(String)};
+ * unstyled text has no kerning, so the results agree. {@link #view} exposes a
+ * {@link CharSequence} as a {@link FormattedCharSequence} for drawing without
+ * a {@code String}. Caches are dropped on resource reload. Render thread only.
+ */
+final class TextMetrics {
+
+    private static final float[][] PAGES = new float[256][];
+    private static final LongIntMap SUPPLEMENTARY = new LongIntMap(16);
+    private static final CharView VIEW = new CharView();
+
+    /**
+     * @return Width in GUI units, as {@link Font#width(String)} would report
+     */
+    static int width(final Font font, final CharSequence text) {
+        return width(font.getSplitter(), text);
+    }
+
+    /**
+     * Cut {@code text} so it fits {@code maxWidth}, ending in "..." if cut.
+     * Works in place; no substrings.
+     */
+    static void ellipsize(final Font font, final CharFormatter text, final int maxWidth) {
+        ellipsize(font.getSplitter(), text, maxWidth);
+    }
+
+    // Splitter-level versions: the splitter is all that measuring needs
+
+    static int width(final StringSplitter splitter, final CharSequence text) {
+        float sum = 0.0f;
+        for (int i = 0; i < text.length(); ) {
+            final int codePoint = Character.codePointAt(text, i);
+            sum += advance(splitter, codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return (int) Math.ceil(sum);
+    }
+
+    static void ellipsize(final StringSplitter splitter, final CharFormatter text, final int maxWidth) {
+        if (width(splitter, text) <= maxWidth) {
+            return;
+        }
+        final float budget = maxWidth - 3 * advance(splitter, '.');
+        float sum = 0.0f;
+        int keep = 0;
+        while (keep < text.length()) {
+            final int codePoint = Character.codePointAt(text, keep);
+            final float next = sum + advance(splitter, codePoint);
+            if (next > budget) {
+                break;
+            }
+            sum = next;
+            keep += Character.charCount(codePoint);
+        }
+        text.setLength(keep);
+        text.append("...");
+    }
+
+    /**
+     * Reusable drawable view of a char sequence; valid until the next call.
+     */
+    static FormattedCharSequence view(final CharSequence text) {
+        VIEW.text = text;
+        return VIEW;
+    }
+
+    /**
+     * Drop cached advances (fonts may have changed).
+     */
+    static void invalidate() {
+        Arrays.fill(PAGES, null);
+        SUPPLEMENTARY.clear();
+    }
+
+    private static float advance(final StringSplitter splitter, final int codePoint) {
+        if (codePoint < 0x10000) {
+            float[] page = PAGES[codePoint >>> 8];
+            if (page == null) {
+                page = new float[256];
+                Arrays.fill(page, Float.NaN);
+                PAGES[codePoint >>> 8] = page;
+            }
+            float w = page[codePoint & 0xFF];
+            if (Float.isNaN(w)) {
+                w = measure(splitter, codePoint);
+                page[codePoint & 0xFF] = w;
+            }
+            return w;
+        }
+        final int bits = SUPPLEMENTARY.get(codePoint);
+        if (bits != LongIntMap.MISSING) {
+            return Float.intBitsToFloat(bits);
+        }
+        final float w = measure(splitter, codePoint);
+        SUPPLEMENTARY.put(codePoint, Float.floatToIntBits(w)); // Non-negative floats have non-negative bits
+        return w;
+    }
+
+    private static float measure(final StringSplitter splitter, final int codePoint) {
+        return Math.max(0.0f, splitter.stringWidth(Character.toString(codePoint)));
+    }
+
+    /** Plain-style view over a {@link CharSequence}. */
+    private static final class CharView implements FormattedCharSequence {
+
+        @Nullable
+        private CharSequence text;
+
+        @Override
+        public boolean accept(final FormattedCharSink sink) {
+            final CharSequence t = text;
+            if (t == null) {
+                return true;
+            }
+            final int n = t.length();
+            for (int i = 0; i < n; ) {
+                final int codePoint = Character.codePointAt(t, i);
+                if (!sink.accept(i, Style.EMPTY, codePoint)) {
+                    return false;
+                }
+                i += Character.charCount(codePoint);
+            }
+            return true;
+        }
+    }
+
+    private TextMetrics() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -15,12 +15,16 @@ public sealed interface Theme permits Theme.DarkTheme, Theme.LightTheme {
     int stressWarn();
     int stressDanger();
 
+    /** Shared palettes; themes are stateless. */
+    Theme DARK = new DarkTheme();
+    Theme LIGHT = new LightTheme();
+
     /** Resolve current theme from config (AUTO → Dark for now). */
     static Theme resolve(final ConfigData cfg) {
         return switch (cfg.theme()) {
-            case DARK -> new DarkTheme();
-            case LIGHT -> new LightTheme();
-            case AUTO -> new DarkTheme();
+            case DARK -> DARK;
+            case LIGHT -> LIGHT;
+            case AUTO -> DARK;
         };
     }
 
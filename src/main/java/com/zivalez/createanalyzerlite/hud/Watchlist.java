@@ -0,0 +1,262 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.history.MetricsHistory;
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
+import com.zivalez.createanalyzerlite.util.AdaptiveSampler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pinned networks shown as stacked compact rows, refreshed round-robin.
+ * <p>
+ * Refreshing costs the same per tick however many networks are watched:
+ * each client tick looks at one due entry (cursor order) and either takes
+ * its result from the network cache or issues one estimate request, and
+ * only while the estimator is idle. Estimate requests are spaced at least
+ * {@value #REQUEST_SPACING_TICKS} ticks apart, since each one captures a
+ * snapshot on the client thread in worker mode. Entries are matched by
+ * position or by membership in the same cached network result, which is
+ * dropped on changes, so split networks never merge into one entry. The
+ * crosshair target keeps priority:
+ * its requests replace unfinished watch requests, and its results are
+ * {@link #offer offered} here, so a watched network under the crosshair is
+ * never estimated twice. Each entry is due by its own {@link AdaptiveSampler},
+ * so idle networks are revisited less and less often. Frames only read
+ * stored results. Refreshed entries are recorded into {@link MetricsHistory}.
+ * Entries are dropped when the level changes. Client thread only.
+ */
+public final class Watchlist {
+
+    /** Networks that can be watched at once. */
+    static final int MAX_WATCHED = 8;
+
+    /** Minimum ticks between two estimate requests for watched networks. */
+    private static final int REQUEST_SPACING_TICKS = 10;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final long[] POSITIONS = new long[MAX_WATCHED];
+    private static final KineticData[] DATA = new KineticData[MAX_WATCHED];
+    private static final AdaptiveSampler[] SAMPLERS = new AdaptiveSampler[MAX_WATCHED];
+    private static int size;
+    private static int cursor;
+
+    // Entry position waiting for a requested estimate
+    private static long pending = NONE;
+    private static long nextRequestTick;
+    private static int version;
+
+    @Nullable
+    private static Level level;
+
+    static {
+        for (int i = 0; i < MAX_WATCHED; i++) {
+            SAMPLERS[i] = new AdaptiveSampler();
+        }
+    }
+
+    /**
+     * Watch the network of {@code target}, or stop watching it if it is
+     * already watched. Does nothing if the list is full.
+     */
+    static void toggle(final BlockEntity target) {
+        final Level l = target.getLevel();
+        if (l == null) {
+            return;
+        }
+        syncLevel(l);
+        final int i = indexOf(target, l.getGameTime());
+        if (i >= 0) {
+            CreateAnalyzerLite.LOGGER.info("Unwatched: {}", BlockPos.of(POSITIONS[i]));
+            remove(i);
+            return;
+        }
+        if (size == MAX_WATCHED) {
+            CreateAnalyzerLite.LOGGER.info("Watchlist full ({} networks)", MAX_WATCHED);
+            return;
+        }
+        POSITIONS[size] = target.getBlockPos().asLong();
+        DATA[size] = null;
+        SAMPLERS[size].reset();
+        size++;
+        version++;
+        CreateAnalyzerLite.LOGGER.info("Watching: {}", target.getBlockPos());
+    }
+
+    /**
+     * Take a fresh crosshair result for a watched network, if it is one.
+     * Call only with newly obtained data; costs two cache index probes per entry.
+     */
+    static void offer(final BlockEntity target, final KineticData data, final long tick, final ConfigData config) {
+        if (size == 0 || target.getLevel() != level) {
+            return;
+        }
+        final int i = indexOf(target, tick);
+        if (i >= 0) {
+            store(i, data, tick, config);
+        }
+    }
+
+    /**
+     * Refresh at most one due entry. Call once per client tick.
+     */
+    public static void tick(final Level level, final ConfigData config) {
+        syncLevel(level);
+        if (size == 0) {
+            return;
+        }
+        final long now = level.getGameTime();
+
+        // Collect a finished watch request (a crosshair request may have replaced it)
+        if (pending != NONE) {
+            if (KineticQuery.busy()) {
+                return;
+            }
+            final int i = indexOf(pending);
+            pending = NONE;
+            final BlockEntity be = (i >= 0) ? level.getBlockEntity(BlockPos.of(POSITIONS[i])) : null;
+            if (be != null) {
+                final KineticData cached = KineticQuery.cached(be, now, config);
+                final KineticData kd = (cached != null) ? cached : KineticQuery.latest(be);
+                if (kd != null) {
+                    store(i, kd, now, config);
+                }
+            }
+        }
+
+        for (int n = 0; n < size; n++) {
+            final int i = cursor;
+            cursor = (cursor + 1) % size;
+            if (!SAMPLERS[i].due(now, config.minSampleTicks(), config.maxSampleTicks())) {
+                continue;
+            }
+            refresh(level, i, now, config);
+            return;
+        }
+    }
+
+    private static void refresh(final Level level, final int i, final long now, final ConfigData config) {
+        final BlockPos pos = BlockPos.of(POSITIONS[i]);
+        if (!level.isLoaded(pos)) {
+            // Out of range: keep the last result, look again later
+            SAMPLERS[i].sampled(now, false, config.minSampleTicks(), config.maxSampleTicks());
+            return;
+        }
+        final BlockEntity be = level.getBlockEntity(pos);
+        if (be == null) {
+            SAMPLERS[i].sampled(now, DATA[i] != null, config.minSampleTicks(), config.maxSampleTicks());
+            setData(i, null); // Broken
+            return;
+        }
+        final KineticData cached = KineticQuery.cached(be, now, config);
+        if (cached != null) {
+            store(i, cached, now, config);
+        } else if (!KineticQuery.busy() && now >= nextRequestTick) {
+            KineticQuery.requestAsync(be, config);
+            pending = POSITIONS[i];
+            nextRequestTick = now + REQUEST_SPACING_TICKS;
+        }
+    }
+
+    private static void store(final int i, final KineticData data, final long tick, final ConfigData config) {
+        SAMPLERS[i].sampled(tick, !data.sameReadings(DATA[i]), config.minSampleTicks(), config.maxSampleTicks());
+        setData(i, data);
+        if (level != null) {
+            MetricsHistory.record(level.dimension(), BlockPos.of(POSITIONS[i]), data);
+        }
+    }
+
+    private static void setData(final int i, @Nullable final KineticData data) {
+        if (!Objects.equals(data, DATA[i])) {
+            DATA[i] = data;
+            version++;
+        }
+    }
+
+    private static int indexOf(final BlockEntity target, final long tick) {
+        final long pos = target.getBlockPos().asLong();
+        for (int i = 0; i < size; i++) {
+            if (POSITIONS[i] == pos || KineticQuery.sameCachedNetwork(target, BlockPos.of(POSITIONS[i]), tick)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(final long pos) {
+        for (int i = 0; i < size; i++) {
+            if (POSITIONS[i] == pos) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void remove(final int i) {
+        final int tail = size - i - 1;
+        final AdaptiveSampler sampler = SAMPLERS[i];
+        System.arraycopy(POSITIONS, i + 1, POSITIONS, i, tail);
+        System.arraycopy(DATA, i + 1, DATA, i, tail);
+        System.arraycopy(SAMPLERS, i + 1, SAMPLERS, i, tail);
+        size--;
+        DATA[size] = null;
+        SAMPLERS[size] = sampler;
+        if (cursor >= size) {
+            cursor = 0;
+        }
+        version++;
+    }
+
+    private static void syncLevel(final Level l) {
+        if (l != level) {
+            Arrays.fill(DATA, null);
+            size = 0;
+            cursor = 0;
+            pending = NONE;
+            nextRequestTick = 0L;
+            version++;
+            level = l;
+        }
+    }
+
+    /**
+     * @return Number of watched networks
+     */
+    static int size() {
+        return size;
+    }
+
+    /**
+     * @return Watched position of entry {@code i}, packed
+     */
+    static long position(final int i) {
+        return POSITIONS[i];
+    }
+
+    /**
+     * @return Latest result of entry {@code i}, or null if none yet or the block is gone
+     */
+    @Nullable
+    static KineticData data(final int i) {
+        return DATA[i];
+    }
+
+    /**
+     * @return Changes whenever the list or any shown result changes
+     */
+    static int version() {
+        return version;
+    }
+
+    private Watchlist() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
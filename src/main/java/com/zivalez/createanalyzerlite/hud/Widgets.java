@@ -1,11 +1,19 @@
 package com.zivalez.createanalyzerlite.hud;
 
+import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import com.zivalez.createanalyzerlite.util.CharFormatter;
+import com.zivalez.createanalyzerlite.util.FloatRingBuffer;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.RenderType;
+import org.joml.Matrix4f;
 
 public final class Widgets {
 
+    // Reused by compactRow (render thread only)
+    private static final CharFormatter ROW_TEXT = new CharFormatter(24);
+
     public static void panel(final GuiGraphics gfx, final int x, final int y, final int w, final int h, final Theme theme, final int bgAlpha) {
         gfx.fill(x, y, x + w, y + h, theme.panelBg(bgAlpha));
         // border 1px
@@ -20,6 +28,11 @@ public final class Widgets {
         gfx.drawString(Minecraft.getInstance().font, s, x, y, color, false);
     }
 
+    /** Draw formatter contents without building a string. */
+    public static void text(final GuiGraphics gfx, final CharFormatter s, final int x, final int y, final int color) {
+        gfx.drawString(Minecraft.getInstance().font, TextMetrics.view(s), x, y, color, false);
+    }
+
     public static void badge(final GuiGraphics gfx, final String s, final int x, final int y, final Theme theme) {
         final var font = Minecraft.getInstance().font;
         final int tw = font.width(s);
@@ -39,22 +52,70 @@ public final class Widgets {
         gfx.fill(x, y, x + fill, y + h, col);
     }
 
+    /**
+     * Sparkline of recent samples, newest at the right: stress ratio as
+     * columns coloured like {@link #stressBar}, RPM as a line of dots scaled
+     * to the largest |RPM| shown. All quads go into one GUI batch.
+     */
+    public static void sparkline(final GuiGraphics gfx, final int x, final int y, final int w, final int h,
+                                 final FloatRingBuffer ratio, final FloatRingBuffer rpm, final Theme theme) {
+        gfx.fill(x, y, x + w, y + h, 0x40000000); // track
+        final int n = Math.min(ratio.size(), rpm.size());
+        if (n == 0 || w <= 0 || h <= 1) {
+            return;
+        }
+        final int shown = Math.min(n, w);
+        final float column = (float) w / Math.max(shown, Math.min(w, ratio.capacity()));
+        final float left = x + w - shown * column;
+        final float bottom = y + h;
+        final float rpmScale = (h - 1) / Math.max(1.0f, rpm.maxAbs());
+        final int rpmColor = theme.accent();
+
+        final Matrix4f m = gfx.pose().last().pose();
+        final VertexConsumer vc = gfx.bufferSource().getBuffer(RenderType.gui());
+        for (int i = 0; i < shown; i++) {
+            final int sample = n - shown + i;
+            final float x0 = left + i * column;
+            final float x1 = x0 + column;
+
+            final float r = Math.max(0.0f, ratio.get(sample));
+            final float top = bottom - Math.min(1.0f, r) * h;
+            final int col = r < 0.7f ? theme.stressSafe() : (r < 0.9f ? theme.stressWarn() : theme.stressDanger());
+            quad(vc, m, x0, top, x1, bottom, col);
+
+            final float dotY = bottom - 1 - Math.abs(rpm.get(sample)) * rpmScale;
+            quad(vc, m, x0, dotY, x1, dotY + 1, rpmColor);
+        }
+    }
+
+    private static void quad(final VertexConsumer vc, final Matrix4f m, final float x0, final float y0,
+                             final float x1, final float y1, final int argb) {
+        vc.addVertex(m, x0, y0, 0.0f).setColor(argb);
+        vc.addVertex(m, x0, y1, 0.0f).setColor(argb);
+        vc.addVertex(m, x1, y1, 0.0f).setColor(argb);
+        vc.addVertex(m, x1, y0, 0.0f).setColor(argb);
+    }
+
     /** One-line compact row: RPM · mini bar · Nodes [+ badges]. */
     public static int compactRow(final GuiGraphics gfx, final int x, final int y, final int w, final Theme theme, final KineticData kd) {
         final var font = Minecraft.getInstance().font;
         int cx = x, cy = y;
 
-        final String rpm = String.format("RPM %s%d", kd.speed() < 0 ? "-" : "", Math.abs((int) kd.speed()));
-        text(gfx, rpm, cx, cy, theme.textPrimary());
-        cx += font.width(rpm) + 8;
+        ROW_TEXT.clear().append("RPM ");
+        if (kd.speed() < 0) {
+            ROW_TEXT.append('-');
+        }
+        ROW_TEXT.append(Math.abs((int) kd.speed()));
+        text(gfx, ROW_TEXT, cx, cy, theme.textPrimary());
+        cx += TextMetrics.width(font, ROW_TEXT) + 8;
 
         final int barW = Math.max(40, w / 3);
         stressBar(gfx, cx, cy + 2, barW, 6, kd, theme);
         cx += barW + 8;
 
-        final String nodes = "Nodes " + kd.nodes();
-        text(gfx, nodes, cx, cy, theme.textSecondary());
-        cx += font.width(nodes) + 6;
+        ROW_TEXT.clear().append("Nodes ").append(kd.nodes());
+        text(gfx, ROW_TEXT, cx, cy, theme.textSecondary());
+        cx += TextMetrics.width(font, ROW_TEXT) + 6;
 
         if (kd.stressApproximate() || kd.nodesApproximate()) {
             badge(gfx, "≈", cx, cy - 2, theme);
@@ -0,0 +1,364 @@
+package com.zivalez.createanalyzerlite.hud;
+
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.FrameGovernor;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
+import com.zivalez.createanalyzerlite.integration.create.CreateAccess;
+import com.zivalez.createanalyzerlite.integration.create.CreatePresent;
+import com.zivalez.createanalyzerlite.integration.create.KineticData;
+import com.zivalez.createanalyzerlite.integration.create.KineticIndex;
+import com.zivalez.createanalyzerlite.integration.create.KineticQuery;
+import com.zivalez.createanalyzerlite.integration.create.KineticRole;
+import com.zivalez.createanalyzerlite.integration.create.StressTable;
+import com.zivalez.createanalyzerlite.util.CharFormatter;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Small RPM/stress labels drawn in the world above generators, consumers
+ * and gauges around the player.
+ * <p>
+ * Candidates are collected on the client tick, at most every
+ * {@code minSampleTicks}: kinetic blocks within {@code worldLabelRadius}
+ * (from the {@link KineticIndex} when ready, else the chunks' block
+ * entities), sorted nearest first, with their label strings and widths
+ * formatted once. Frames only cull and draw: labels outside the view
+ * frustum are skipped, the rest take a level of detail by camera distance
+ * (full text in the nearest third of the radius, RPM only in the middle
+ * third, a coloured marker beyond) until {@code maxWorldLabels} are placed.
+ * <p>
+ * Everything goes through one private buffer source in two passes,
+ * backgrounds and markers first and text second, so each pass stays one
+ * render type and the frame costs a draw call per pass however many labels
+ * are shown. Labels are depth-tested, so blocks hide them. Client thread only.
+ */
+public final class WorldLabels {
+
+    private static final byte FULL = 0;
+    private static final byte SHORT = 1;
+    private static final byte MARKER = 2;
+
+    /** Candidates kept per placeable label, for those culled by the frustum. */
+    private static final int CANDIDATES_PER_LABEL = 4;
+    /** Label anchor above the block origin, in blocks. */
+    private static final double LABEL_HEIGHT = 1.3;
+    /** Text units to blocks, as for name tags. */
+    private static final float SCALE = 0.025f;
+    private static final float MARKER_HALF = 3.0f;
+
+    // Collected candidates, nearest first
+    private static long[] positions = new long[64];
+    private static String[] fullText = new String[64];
+    private static String[] shortText = new String[64];
+    private static int[] fullWidth = new int[64];
+    private static int[] shortWidth = new int[64];
+    private static int[] colors = new int[64];
+    private static int count;
+
+    // Scratch for collection: found positions and (distance² << 32 | index) sort keys
+    private static long[] found = new long[256];
+    private static int foundCount;
+    private static long[] keys = new long[256];
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+    private static final CharFormatter TEXT = new CharFormatter(32);
+
+    // Labels placed this frame
+    private static int[] visible = new int[64];
+    private static byte[] lods = new byte[64];
+    private static float[] offsets = new float[64 * 3];
+
+    private static final Matrix4f VIEW_PROJECTION = new Matrix4f();
+    private static final MultiBufferSource.BufferSource BUFFERS = MultiBufferSource.immediate(new ByteBufferBuilder(1 << 16));
+
+    @Nullable
+    private static Level level;
+    private static long lastCollect;
+
+    /**
+     * Re-collect label candidates when due. Call once per client tick.
+     */
+    public static void tick(final Level level, final ConfigData config) {
+        if (!config.worldLabels() || !CreatePresent.isLoaded()) {
+            clear();
+            return;
+        }
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null) {
+            return;
+        }
+        final long now = level.getGameTime();
+        if (level == WorldLabels.level && now - lastCollect < config.minSampleTicks()) {
+            return;
+        }
+        WorldLabels.level = level;
+        lastCollect = now;
+        collect(level, mc.player.blockPosition(), now, config, mc.font);
+    }
+
+    /**
+     * Draw the labels placed this frame.
+     */
+    public static void onRenderLevel(final RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_TRANSLUCENT_BLOCKS || count == 0) {
+            return;
+        }
+        final Minecraft mc = Minecraft.getInstance();
+        final ConfigData cfg = FrameGovernor.config();
+        if (!cfg.worldLabels() || mc.level != level || mc.options.hideGui) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final long profileStart = StageProfiler.start();
+
+        final Camera camera = event.getCamera();
+        final Vec3 cam = camera.getPosition();
+        final PoseStack pose = event.getPoseStack();
+        // Camera rotation is in the model-view matrix, not the event's pose stack
+        VIEW_PROJECTION.set(event.getProjectionMatrix()).mul(event.getModelViewMatrix());
+
+        final int placed = place(cam, cfg);
+        if (placed == 0) {
+            StageProfiler.end(Stage.WORLD, profileStart);
+            FrameGovernor.addCost(System.nanoTime() - start);
+            return;
+        }
+
+        final Theme theme = Theme.resolve(cfg);
+        final int background = theme.panelBg(cfg.opacity());
+
+        // Pass 1: backgrounds and markers, one render type
+        final VertexConsumer quads = BUFFERS.getBuffer(RenderType.textBackground());
+        for (int v = 0; v < placed; v++) {
+            final int i = visible[v];
+            push(pose, camera, v);
+            final Matrix4f m = pose.last().pose();
+            if (lods[v] == MARKER) {
+                quad(quads, m, -MARKER_HALF, -MARKER_HALF, MARKER_HALF, MARKER_HALF, colors[i]);
+            } else {
+                final float half = ((lods[v] == FULL) ? fullWidth[i] : shortWidth[i]) / 2.0f;
+                quad(quads, m, -half - 1.0f, -1.0f, half + 1.0f, 9.0f, background);
+            }
+            pose.popPose();
+        }
+
+        // Pass 2: text, one render type per font page
+        final Font font = mc.font;
+        for (int v = 0; v < placed; v++) {
+            if (lods[v] == MARKER) {
+                continue;
+            }
+            final int i = visible[v];
+            final boolean full = lods[v] == FULL;
+            push(pose, camera, v);
+            font.drawInBatch(full ? fullText[i] : shortText[i], -((full ? fullWidth[i] : shortWidth[i]) / 2.0f), 0.0f,
+                colors[i], false, pose.last().pose(), BUFFERS, Font.DisplayMode.NORMAL, 0, LightTexture.FULL_BRIGHT);
+            pose.popPose();
+        }
+        BUFFERS.endBatch();
+
+        StageProfiler.end(Stage.WORLD, profileStart);
+        FrameGovernor.addCost(System.nanoTime() - start);
+    }
+
+    /**
+     * Cull candidates and pick their level of detail, nearest first.
+     *
+     * @return Number of labels placed
+     */
+    private static int place(final Vec3 cam, final ConfigData cfg) {
+        final float radius = cfg.worldLabelRadius();
+        final float near = radius / 3.0f;
+        final float mid = radius * 2.0f / 3.0f;
+        final int cap = cfg.maxWorldLabels();
+        if (visible.length < cap) {
+            visible = new int[cap];
+            lods = new byte[cap];
+            offsets = new float[cap * 3];
+        }
+
+        int placed = 0;
+        for (int i = 0; i < count && placed < cap; i++) {
+            final float x = (float) (BlockPos.getX(positions[i]) + 0.5 - cam.x);
+            final float y = (float) (BlockPos.getY(positions[i]) + LABEL_HEIGHT - cam.y);
+            final float z = (float) (BlockPos.getZ(positions[i]) + 0.5 - cam.z);
+            final float d2 = x * x + y * y + z * z;
+            if (d2 > radius * radius || !VIEW_PROJECTION.testSphere(x, y, z, 0.5f)) {
+                continue;
+            }
+            visible[placed] = i;
+            lods[placed] = (d2 <= near * near) ? FULL : (d2 <= mid * mid) ? SHORT : MARKER;
+            offsets[placed * 3] = x;
+            offsets[placed * 3 + 1] = y;
+            offsets[placed * 3 + 2] = z;
+            placed++;
+        }
+        return placed;
+    }
+
+    // Billboard facing the camera, as for name tags
+    private static void push(final PoseStack pose, final Camera camera, final int v) {
+        pose.pushPose();
+        pose.translate(offsets[v * 3], offsets[v * 3 + 1], offsets[v * 3 + 2]);
+        pose.mulPose(camera.rotation());
+        pose.scale(SCALE, -SCALE, SCALE);
+    }
+
+    // Same layout as the font's background effect, just behind the text
+    private static void quad(
+        final VertexConsumer quads, final Matrix4f m,
+        final float x0, final float y0, final float x1, final float y1, final int color
+    ) {
+        quads.addVertex(m, x0, y1, 0.01f).setColor(color).setLight(LightTexture.FULL_BRIGHT);
+        quads.addVertex(m, x1, y1, 0.01f).setColor(color).setLight(LightTexture.FULL_BRIGHT);
+        quads.addVertex(m, x1, y0, 0.01f).setColor(color).setLight(LightTexture.FULL_BRIGHT);
+        quads.addVertex(m, x0, y0, 0.01f).setColor(color).setLight(LightTexture.FULL_BRIGHT);
+    }
+
+    private static void collect(final Level level, final BlockPos center, final long now, final ConfigData config, final Font font) {
+        final int radius = config.worldLabelRadius();
+        foundCount = 0;
+        if (KineticIndex.ready(level)) {
+            KineticIndex.forEachInRadius(center, radius, WorldLabels::found);
+        } else {
+            final long r2 = (long) radius * radius;
+            final int chunkRadius = (radius >> 4) + 1;
+            for (int cx = (center.getX() >> 4) - chunkRadius; cx <= (center.getX() >> 4) + chunkRadius; cx++) {
+                for (int cz = (center.getZ() >> 4) - chunkRadius; cz <= (center.getZ() >> 4) + chunkRadius; cz++) {
+                    final LevelChunk chunk = level.getChunkSource().getChunkNow(cx, cz);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    for (final BlockEntity be : chunk.getBlockEntities().values()) {
+                        if (be.getBlockPos().distSqr(center) <= r2 && CreateAccess.isKinetic(be)) {
+                            found(be.getBlockPos().asLong());
+                        }
+                    }
+                }
+            }
+        }
+
+        // Nearest first, so the label cap keeps the closest blocks
+        if (keys.length < foundCount) {
+            keys = new long[found.length];
+        }
+        for (int i = 0; i < foundCount; i++) {
+            final long dx = BlockPos.getX(found[i]) - center.getX();
+            final long dy = BlockPos.getY(found[i]) - center.getY();
+            final long dz = BlockPos.getZ(found[i]) - center.getZ();
+            keys[i] = ((dx * dx + dy * dy + dz * dz) << 32) | i;
+        }
+        Arrays.sort(keys, 0, foundCount);
+
+        final Theme theme = Theme.resolve(config);
+        final int limit = config.maxWorldLabels() * CANDIDATES_PER_LABEL;
+        count = 0;
+        for (int k = 0; k < foundCount && count < limit; k++) {
+            final long pos = found[(int) keys[k]];
+            final BlockEntity be = level.getBlockEntity(CURSOR.set(pos));
+            if (be == null || !CreateAccess.isKinetic(be)) {
+                continue;
+            }
+            final Block block = be.getBlockState().getBlock();
+            final boolean gauge = CreateAccess.isGauge(block);
+            final KineticRole role = StressTable.role(block);
+            if (!gauge && role != KineticRole.GENERATOR && role != KineticRole.CONSUMER) {
+                continue;
+            }
+            ensureCapacity(count + 1);
+            label(count, be, block, gauge, role, now, config, theme, font);
+            positions[count] = pos;
+            count++;
+        }
+        Arrays.fill(fullText, count, fullText.length, null);
+        Arrays.fill(shortText, count, shortText.length, null);
+    }
+
+    private static void label(
+        final int i, final BlockEntity be, final Block block, final boolean gauge, final KineticRole role,
+        final long now, final ConfigData config, final Theme theme, final Font font
+    ) {
+        final float speed = CreateAccess.speed(be);
+        final float rpm = Math.abs(speed);
+
+        // "-64 RPM": whole RPM, sign kept
+        TEXT.clear();
+        if (speed < 0) {
+            TEXT.append('-');
+        }
+        TEXT.append((int) rpm).append(" RPM");
+        shortText[i] = TEXT.toString();
+
+        int color = theme.textPrimary();
+        if (gauge) {
+            final KineticData network = KineticQuery.cached(be, now, config);
+            if (network != null) {
+                final double ratio = network.stressRatio();
+                TEXT.append("  ").appendPercent(ratio);
+                color = (ratio > 1.0) ? theme.stressDanger() : (ratio > 0.75) ? theme.stressWarn() : theme.stressSafe();
+            }
+        } else if (role == KineticRole.GENERATOR) {
+            TEXT.append("  +").appendCompact(StressTable.capacity(block) * rpm).append(" su");
+            color = theme.stressSafe();
+        } else {
+            TEXT.append("  -").appendCompact(StressTable.impact(block) * rpm).append(" su");
+            color = theme.stressWarn();
+        }
+        fullText[i] = TEXT.toString();
+
+        fullWidth[i] = font.width(fullText[i]);
+        shortWidth[i] = font.width(shortText[i]);
+        colors[i] = (speed == 0.0f) ? theme.textSecondary() : color;
+    }
+
+    private static void found(final long pos) {
+        if (foundCount == found.length) {
+            found = Arrays.copyOf(found, foundCount << 1);
+        }
+        found[foundCount++] = pos;
+    }
+
+    private static void ensureCapacity(final int size) {
+        if (size <= positions.length) {
+            return;
+        }
+        final int grown = Math.max(size, positions.length << 1);
+        positions = Arrays.copyOf(positions, grown);
+        fullText = Arrays.copyOf(fullText, grown);
+        shortText = Arrays.copyOf(shortText, grown);
+        fullWidth = Arrays.copyOf(fullWidth, grown);
+        shortWidth = Arrays.copyOf(shortWidth, grown);
+        colors = Arrays.copyOf(colors, grown);
+    }
+
+    private static void clear() {
+        if (count > 0 || level != null) {
+            Arrays.fill(fullText, null);
+            Arrays.fill(shortText, null);
+            count = 0;
+            level = null;
+        }
+    }
+
+    private WorldLabels() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -44,6 +44,38 @@ public final class Keybinds {
         CATEGORY
     );
     
+    public static final KeyMapping TOGGLE_PROFILER = new KeyMapping(
+        "key." + CreateAnalyzerLite.MOD_ID + ".toggle_profiler",
+        KeyConflictContext.IN_GAME,
+        InputConstants.Type.KEYSYM,
+        GLFW.GLFW_KEY_F7,
+        CATEGORY
+    );
+    
+    public static final KeyMapping WATCH_TARGET = new KeyMapping(
+        "key." + CreateAnalyzerLite.MOD_ID + ".watch_target",
+        KeyConflictContext.IN_GAME,
+        InputConstants.Type.KEYSYM,
+        GLFW.GLFW_KEY_F8,
+        CATEGORY
+    );
+    
+    public static final KeyMapping TOGGLE_HEATMAP = new KeyMapping(
+        "key." + CreateAnalyzerLite.MOD_ID + ".toggle_heatmap",
+        KeyConflictContext.IN_GAME,
+        InputConstants.Type.KEYSYM,
+        GLFW.GLFW_KEY_F9,
+        CATEGORY
+    );
+    
+    public static final KeyMapping EXPORT_HISTORY = new KeyMapping(
+        "key." + CreateAnalyzerLite.MOD_ID + ".export_history",
+        KeyConflictContext.IN_GAME,
+        InputConstants.Type.KEYSYM,
+        GLFW.GLFW_KEY_F10,
+        CATEGORY
+    );
+    
     /**
      * Register keybinds with NeoForge.
      */
@@ -51,8 +83,12 @@ public final class Keybinds {
         event.register(TOGGLE_OVERLAY);
         event.register(CYCLE_MODE);
         event.register(LOCK_TARGET);
+        event.register(TOGGLE_PROFILER);
+        event.register(WATCH_TARGET);
+        event.register(TOGGLE_HEATMAP);
+        event.register(EXPORT_HISTORY);
         
-        CreateAnalyzerLite.LOGGER.debug("Registered {} keybinds", 3);
+        CreateAnalyzerLite.LOGGER.debug("Registered {} keybinds", 7);
         
         // Register client tick handler for key polling
         // Use LevelTickEvent.Post (client-side) as workaround
@@ -89,6 +125,22 @@ public final class Keybinds {
         while (LOCK_TARGET.consumeClick()) {
             OverlayRenderer.toggleLock();
         }
+        
+        while (TOGGLE_PROFILER.consumeClick()) {
+            OverlayRenderer.toggleProfiler();
+        }
+        
+        while (WATCH_TARGET.consumeClick()) {
+            OverlayRenderer.toggleWatch();
+        }
+        
+        while (TOGGLE_HEATMAP.consumeClick()) {
+            OverlayRenderer.toggleHeatmap();
+        }
+        
+        while (EXPORT_HISTORY.consumeClick()) {
+            OverlayRenderer.exportHistory();
+        }
     }
     
     private Keybinds() {
@@ -0,0 +1,110 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Chunk-local block entity lookups for scans that walk neighbouring blocks.
+ * <p>
+ * Keeps the current {@link LevelChunk} and its block entity map, and only goes
+ * back to the level's chunk source when a lookup crosses a 16-block chunk
+ * boundary. Lookups read the chunk map directly and never create pending
+ * block entities. Hit/miss counters report how often the cached chunk was
+ * reused. Not thread-safe; one cursor per scan.
+ */
+public final class ChunkCursor {
+
+    private final BlockPos.MutableBlockPos key = new BlockPos.MutableBlockPos();
+
+    @Nullable
+    private Level level;
+    @Nullable
+    private LevelChunk chunk;
+    private Map<BlockPos, BlockEntity> blockEntities = Map.of();
+    private int chunkX;
+    private int chunkZ;
+    private boolean resolved;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Point the cursor at a level and drop the cached chunk.
+     */
+    public void reset(final Level level) {
+        this.level = level;
+        this.chunk = null;
+        this.blockEntities = Map.of();
+        this.resolved = false;
+    }
+
+    /**
+     * Look up the block entity at a packed position.
+     *
+     * @param pos Position packed with {@link BlockPos#asLong}
+     * @return Block entity or null if absent or the chunk is not loaded
+     */
+    @Nullable
+    public BlockEntity getBlockEntity(final long pos) {
+        return getBlockEntity(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos));
+    }
+
+    /**
+     * Look up the block entity at a position.
+     *
+     * @return Block entity or null if absent or the chunk is not loaded
+     */
+    @Nullable
+    public BlockEntity getBlockEntity(final int x, final int y, final int z) {
+        if (!moveTo(x, z)) {
+            return null;
+        }
+        final BlockEntity be = blockEntities.get(key.set(x, y, z));
+        return (be == null || be.isRemoved()) ? null : be;
+    }
+
+    /**
+     * @return Lookups served from the cached chunk
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return Lookups that had to resolve a new chunk
+     */
+    public long misses() {
+        return misses;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Make the chunk containing (x, z) current.
+     *
+     * @return true if that chunk is loaded
+     */
+    private boolean moveTo(final int x, final int z) {
+        final int cx = x >> 4;
+        final int cz = z >> 4;
+        if (resolved && cx == chunkX && cz == chunkZ) {
+            hits++;
+            return chunk != null;
+        }
+        misses++;
+        chunkX = cx;
+        chunkZ = cz;
+        resolved = true;
+        chunk = (level == null) ? null : level.getChunkSource().getChunkNow(cx, cz);
+        blockEntities = (chunk == null) ? Map.of() : chunk.getBlockEntities();
+        return chunk != null;
+    }
+}
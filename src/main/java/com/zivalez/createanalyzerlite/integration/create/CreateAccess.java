@@ -0,0 +1,323 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.LevelReader;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single registry for all reflective access to Create internals.
+ * <p>
+ * Classes and members are resolved once, on first use, into constant
+ * {@link MethodHandle}s. Each member resolves independently: if Create
+ * renames or moves one, only the feature depending on it degrades and a
+ * single warning is logged. Kinetic classification is memoised per
+ * {@link BlockEntityType}, so hot paths never touch {@code Class.forName}.
+ */
+public final class CreateAccess {
+
+    private static final String KINETIC_BE_CLASS = "com.simibubi.create.content.kinetics.base.KineticBlockEntity";
+    private static final String IROTATE_CLASS = "com.simibubi.create.content.kinetics.base.IRotate";
+    private static final String ICOGWHEEL_CLASS = "com.simibubi.create.content.kinetics.simpleRelays.ICogWheel";
+    private static final String GAUGE_CLASS = "com.simibubi.create.content.kinetics.gauge.GaugeBlock";
+    /** Create 6 location first, then the 0.5.x one. */
+    private static final String[] STRESS_VALUES_CLASSES = {
+        "com.simibubi.create.api.stress.BlockStressValues",
+        "com.simibubi.create.content.kinetics.BlockStressValues"
+    };
+
+    @Nullable
+    private static final Class<?> KINETIC_BE = findClass(KINETIC_BE_CLASS);
+
+    /** {@code (Object)float} getter for {@code KineticBlockEntity.speed}. */
+    @Nullable
+    private static final MethodHandle SPEED = findGetter(KINETIC_BE, "speed", float.class);
+
+    @Nullable
+    private static final Class<?> IROTATE = findClass(IROTATE_CLASS);
+    @Nullable
+    private static final Class<?> ICOGWHEEL = findClass(ICOGWHEEL_CLASS);
+    @Nullable
+    private static final Class<?> GAUGE = findClass(GAUGE_CLASS);
+
+    /** {@code (Object, LevelReader, BlockPos, BlockState, Direction)boolean} for {@code IRotate.hasShaftTowards}. */
+    @Nullable
+    private static final MethodHandle HAS_SHAFT_TOWARDS = findVirtual(IROTATE, "hasShaftTowards",
+        MethodType.methodType(boolean.class, LevelReader.class, BlockPos.class, BlockState.class, Direction.class));
+
+    /** {@code (Object, BlockState)Axis} for {@code IRotate.getRotationAxis}. */
+    @Nullable
+    private static final MethodHandle GET_ROTATION_AXIS = findVirtual(IROTATE, "getRotationAxis",
+        MethodType.methodType(Direction.Axis.class, BlockState.class));
+
+    /** {@code (BlockState)boolean} for {@code ICogWheel.isSmallCog}. */
+    @Nullable
+    private static final MethodHandle IS_SMALL_COG = findStatic(ICOGWHEEL, "isSmallCog",
+        MethodType.methodType(boolean.class, BlockState.class));
+
+    /** {@code (BlockState)boolean} for {@code ICogWheel.isLargeCog}. */
+    @Nullable
+    private static final MethodHandle IS_LARGE_COG = findStatic(ICOGWHEEL, "isLargeCog",
+        MethodType.methodType(boolean.class, BlockState.class));
+
+    @Nullable
+    private static final Class<?> STRESS_VALUES = findClass(STRESS_VALUES_CLASSES);
+
+    /** {@code (Block)double} for {@code BlockStressValues.getImpact}. */
+    @Nullable
+    private static final MethodHandle GET_IMPACT = findStatic(STRESS_VALUES, "getImpact",
+        MethodType.methodType(double.class, Block.class));
+
+    /** {@code (Block)double} for {@code BlockStressValues.getCapacity}. */
+    @Nullable
+    private static final MethodHandle GET_CAPACITY = findStatic(STRESS_VALUES, "getCapacity",
+        MethodType.methodType(double.class, Block.class));
+
+    private static final Map<BlockEntityType<?>, Boolean> KINETIC_TYPES = new ConcurrentHashMap<>();
+
+    /**
+     * @return true if Create's kinetic block entity class was resolved
+     */
+    public static boolean isAvailable() {
+        return KINETIC_BE != null;
+    }
+
+    /**
+     * Check if block entity is a Create kinetic block.
+     * <p>
+     * The answer is cached per block entity type after the first lookup.
+     */
+    public static boolean isKinetic(@Nullable final BlockEntity be) {
+        if (be == null || KINETIC_BE == null) {
+            return false;
+        }
+        final BlockEntityType<?> type = be.getType();
+        final Boolean cached = KINETIC_TYPES.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean kinetic = KINETIC_BE.isInstance(be);
+        KINETIC_TYPES.put(type, kinetic);
+        return kinetic;
+    }
+
+    /**
+     * Read the client-synced rotational speed.
+     *
+     * @param be Kinetic block entity (see {@link #isKinetic})
+     * @return Speed in RPM, or 0 if the field could not be resolved
+     */
+    public static float speed(final BlockEntity be) {
+        if (SPEED == null) {
+            return 0.0f;
+        }
+        try {
+            return (float) SPEED.invokeExact((Object) be);
+        } catch (final Throwable t) {
+            return 0.0f;
+        }
+    }
+
+    /**
+     * @return true if per-face shaft and cogwheel rules can be queried
+     */
+    public static boolean hasRotationRules() {
+        return HAS_SHAFT_TOWARDS != null && GET_ROTATION_AXIS != null;
+    }
+
+    /**
+     * Check if block implements Create's {@code IRotate}.
+     */
+    public static boolean isRotating(final Block block) {
+        return IROTATE != null && IROTATE.isInstance(block);
+    }
+
+    /**
+     * Check if block is one of Create's speed or stress gauges.
+     */
+    public static boolean isGauge(final Block block) {
+        return GAUGE != null && GAUGE.isInstance(block);
+    }
+
+    /**
+     * Ask an {@code IRotate} block whether it exposes a shaft on a face.
+     *
+     * @return false if unknown or the block is not {@code IRotate}
+     */
+    public static boolean hasShaftTowards(
+        final LevelReader level,
+        final BlockPos pos,
+        final BlockState state,
+        final Direction face
+    ) {
+        if (HAS_SHAFT_TOWARDS == null || !isRotating(state.getBlock())) {
+            return false;
+        }
+        try {
+            return (boolean) HAS_SHAFT_TOWARDS.invokeExact((Object) state.getBlock(), level, pos, state, face);
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Rotation axis of an {@code IRotate} block, or null if unknown
+     */
+    @Nullable
+    public static Direction.Axis rotationAxis(final BlockState state) {
+        if (GET_ROTATION_AXIS == null || !isRotating(state.getBlock())) {
+            return null;
+        }
+        try {
+            return (Direction.Axis) GET_ROTATION_AXIS.invokeExact((Object) state.getBlock(), state);
+        } catch (final Throwable t) {
+            return null;
+        }
+    }
+
+    public static boolean isSmallCog(final BlockState state) {
+        return testState(IS_SMALL_COG, state);
+    }
+
+    public static boolean isLargeCog(final BlockState state) {
+        return testState(IS_LARGE_COG, state);
+    }
+
+    /**
+     * @return true if Create's configured stress values can be read
+     */
+    public static boolean hasStressValues() {
+        return GET_IMPACT != null && GET_CAPACITY != null;
+    }
+
+    /**
+     * @return Configured stress impact per RPM of a block, or 0 if unknown
+     */
+    public static double stressImpact(final Block block) {
+        return readBlockValue(GET_IMPACT, block);
+    }
+
+    /**
+     * @return Configured stress capacity per RPM of a generator, or 0 if unknown
+     */
+    public static double stressCapacity(final Block block) {
+        return readBlockValue(GET_CAPACITY, block);
+    }
+
+    private static double readBlockValue(@Nullable final MethodHandle getter, final Block block) {
+        if (getter == null) {
+            return 0.0;
+        }
+        try {
+            return (double) getter.invokeExact(block);
+        } catch (final Throwable t) {
+            return 0.0;
+        }
+    }
+
+    private static boolean testState(@Nullable final MethodHandle predicate, final BlockState state) {
+        if (predicate == null) {
+            return false;
+        }
+        try {
+            return (boolean) predicate.invokeExact(state);
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    // ====== resolution ======
+
+    @Nullable
+    private static Class<?> findClass(final String name) {
+        if (!CreatePresent.isLoaded()) {
+            return null;
+        }
+        try {
+            return Class.forName(name);
+        } catch (final ClassNotFoundException | LinkageError e) {
+            CreateAnalyzerLite.LOGGER.warn("Create class {} not found - related metrics disabled", name);
+            return null;
+        }
+    }
+
+    /**
+     * Resolve the first class that exists; warns only if none does.
+     */
+    @Nullable
+    private static Class<?> findClass(final String... names) {
+        if (!CreatePresent.isLoaded()) {
+            return null;
+        }
+        for (final String name : names) {
+            try {
+                return Class.forName(name);
+            } catch (final ClassNotFoundException | LinkageError e) {
+                // Try the next location
+            }
+        }
+        CreateAnalyzerLite.LOGGER.warn("Create class {} not found - related metrics disabled", names[0]);
+        return null;
+    }
+
+    @Nullable
+    private static MethodHandle findGetter(@Nullable final Class<?> owner, final String name, final Class<?> type) {
+        if (owner == null) {
+            return null;
+        }
+        try {
+            final Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                .unreflectGetter(field)
+                .asType(MethodType.methodType(type, Object.class));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            CreateAnalyzerLite.LOGGER.warn("Create field {}.{} unavailable: {}", owner.getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findVirtual(@Nullable final Class<?> owner, final String name, final MethodType type) {
+        if (owner == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup()
+                .findVirtual(owner, name, type)
+                .asType(type.insertParameterTypes(0, Object.class));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            CreateAnalyzerLite.LOGGER.warn("Create method {}.{} unavailable: {}", owner.getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findStatic(@Nullable final Class<?> owner, final String name, final MethodType type) {
+        if (owner == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().findStatic(owner, name, type);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            CreateAnalyzerLite.LOGGER.warn("Create method {}.{} unavailable: {}", owner.getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    private CreateAccess() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -0,0 +1,94 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.diagnostics.TraversalEvent;
+import net.minecraft.core.BlockPos;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dedicated background thread for network estimation.
+ * <p>
+ * Jobs carry an immutable {@link KineticSnapshot}. Submission never blocks:
+ * a newer job replaces one that has not started yet, so the worker only ever
+ * traverses the latest request. Results are published atomically through
+ * {@link NetworkEstimator#publish} and read lock-free by the render thread.
+ */
+final class EstimatorWorker {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "CreateAnalyzerLite-Estimator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private static final AtomicReference<Job> PENDING = new AtomicReference<>();
+
+    // Sequence numbers of the latest submitted and finished jobs
+    private static final AtomicLong SUBMITTED = new AtomicLong();
+    private static volatile long finished;
+
+    /** Worker-confined traversal, reused across jobs. */
+    private static final KineticTraversal TRAVERSAL = new KineticTraversal();
+
+    /**
+     * Queue a traversal of a snapshot, replacing any job not yet started.
+     */
+    static void submit(final KineticSnapshot snapshot, final int maxNodes, final int epoch) {
+        if (PENDING.getAndSet(new Job(snapshot, maxNodes, epoch, SUBMITTED.incrementAndGet())) == null) {
+            EXECUTOR.execute(EstimatorWorker::drain);
+        }
+    }
+
+    /**
+     * @return true until the latest submitted job has been published (or failed)
+     */
+    static boolean busy() {
+        return finished != SUBMITTED.get();
+    }
+
+    private static void drain() {
+        final Job job = PENDING.getAndSet(null);
+        if (job == null) {
+            return;
+        }
+        final TraversalEvent event = new TraversalEvent();
+        event.begin();
+        try {
+            final KineticSnapshot snapshot = job.snapshot();
+            TRAVERSAL.run(snapshot, snapshot.origin(), job.maxNodes());
+            final boolean capped = TRAVERSAL.capped();
+            final long[] members = TRAVERSAL.members();
+            // Cut off at the snapshot edge counts as capped: blocks beyond it are missing
+            final boolean approximate = capped || snapshot.reachesEdge(members);
+            NetworkEstimator.publish(snapshot.origin(), new KineticData(
+                snapshot.originSpeed(),
+                TRAVERSAL.consumption(),
+                TRAVERSAL.capacity(),
+                TRAVERSAL.nodes(),
+                true, // Always approximate
+                approximate
+            ), members, job.epoch());
+            if (event.shouldCommit()) {
+                final long origin = snapshot.origin();
+                event.describe(TraversalEvent.WORKER, BlockPos.getX(origin), BlockPos.getY(origin), BlockPos.getZ(origin),
+                    TRAVERSAL.nodes(), capped, 1);
+                event.commit();
+            }
+        } catch (final RuntimeException e) {
+            CreateAnalyzerLite.LOGGER.debug("Background estimate failed: {}", e.getMessage());
+        } finally {
+            finished = job.seq();
+        }
+    }
+
+    private record Job(KineticSnapshot snapshot, int maxNodes, int epoch, long seq) {}
+
+    private EstimatorWorker() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
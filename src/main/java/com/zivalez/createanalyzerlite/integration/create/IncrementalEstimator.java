@@ -0,0 +1,122 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.TraversalEvent;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import javax.annotation.Nullable;
+
+/**
+ * Time-sliced network estimation on the client thread.
+ * <p>
+ * A request starts a resumable {@link KineticTraversal} over the live level;
+ * each client tick advances it for at most {@code traversalBudgetMicros}, so
+ * large networks are spread over several ticks instead of stalling one frame.
+ * Until the first complete result for a target exists, partial sums are
+ * published with the node count marked approximate. Re-requesting the target
+ * that is already being walked keeps the traversal going. Client thread only.
+ */
+final class IncrementalEstimator {
+
+    private static final KineticTraversal TRAVERSAL = new KineticTraversal();
+
+    @Nullable
+    private static Level level;
+    private static long origin;
+    private static float speed;
+    private static boolean active;
+    private static int slices;
+    private static int epoch;
+    @Nullable
+    private static TraversalEvent event; // Only while a JFR recording runs
+
+    // Target of the last completed traversal
+    private static long completedOrigin;
+    private static boolean hasCompleted;
+
+    /**
+     * Start (or keep going with) a traversal from {@code startBe}.
+     */
+    static void request(final BlockEntity startBe, final Level level, final ConfigData config) {
+        final BlockPos start = startBe.getBlockPos();
+        final long pos = start.asLong();
+        speed = CreateAccess.speed(startBe);
+
+        if (active && pos == origin && level == IncrementalEstimator.level) {
+            return;
+        }
+        TRAVERSAL.begin(level, start, config.maxBfsNodes());
+        epoch = NetworkEstimator.epoch();
+        IncrementalEstimator.level = level;
+        origin = pos;
+        active = true;
+        slices = 0;
+        event = TraversalEvent.startIfRecording();
+    }
+
+    /**
+     * @return true while a traversal is in progress
+     */
+    static boolean busy() {
+        return active;
+    }
+
+    /**
+     * Advance the current traversal by one time slice and publish its result.
+     */
+    static void tick(final Level level, final ConfigData config) {
+        if (!active) {
+            return;
+        }
+        if (level != IncrementalEstimator.level) {
+            // Dimension change or disconnect: the walked level is gone
+            cancel();
+            return;
+        }
+
+        // Chunks may have unloaded since the last slice
+        TRAVERSAL.cursor().reset(level);
+        final boolean done = TRAVERSAL.advance(config.traversalBudgetMicros() * 1_000L);
+        slices++;
+
+        if (done) {
+            NetworkEstimator.publish(origin, result(TRAVERSAL.capped()), TRAVERSAL.members(), epoch);
+            final TraversalEvent e = event;
+            if (e != null && e.shouldCommit()) {
+                e.describe(TraversalEvent.INCREMENTAL, BlockPos.getX(origin), BlockPos.getY(origin), BlockPos.getZ(origin),
+                    TRAVERSAL.nodes(), TRAVERSAL.capped(), slices);
+                e.commit();
+            }
+            event = null;
+            completedOrigin = origin;
+            hasCompleted = true;
+            active = false;
+            IncrementalEstimator.level = null;
+        } else if (!hasCompleted || completedOrigin != origin) {
+            NetworkEstimator.publish(origin, result(true), null, epoch);
+        }
+    }
+
+    private static KineticData result(final boolean nodesApproximate) {
+        return new KineticData(
+            speed,
+            TRAVERSAL.consumption(),
+            TRAVERSAL.capacity(),
+            TRAVERSAL.nodes(),
+            true, // Always approximate
+            nodesApproximate
+        );
+    }
+
+    private static void cancel() {
+        active = false;
+        level = null;
+        event = null;
+    }
+
+    private IncrementalEstimator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
@@ -1,5 +1,7 @@
 package com.zivalez.createanalyzerlite.integration.create;
 
+import javax.annotation.Nullable;
+
 /**
  * Immutable record holding kinetic network metrics.
  * <p>
@@ -35,6 +37,22 @@ public record KineticData(
         return stressCapacity > 0 ? stressConsumption / stressCapacity : 0.0;
     }
     
+    /**
+     * Whether another result shows the same speed, node count and stress
+     * (within rounding of the summed stress values).
+     */
+    public boolean sameReadings(@Nullable final KineticData other) {
+        return other != null
+            && speed == other.speed
+            && nodes == other.nodes
+            && close(stressConsumption, other.stressConsumption)
+            && close(stressCapacity, other.stressCapacity);
+    }
+    
+    private static boolean close(final double a, final double b) {
+        return Math.abs(a - b) <= 1e-4 * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+    
     /**
      * Check if any values are approximate.
      */
@@ -0,0 +1,348 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.platform.ClientChangeHooks;
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Spatial index of the kinetic block entities in the loaded client chunks.
+ * <p>
+ * Each 16³ chunk section with kinetic blocks gets a slot holding a 4096-bit
+ * occupancy bitset (64 longs) and a list of its kinetic blocks as 12-bit
+ * local offsets; slots are found through a {@link LongIntMap} keyed by
+ * {@link SectionPos#asLong}. "Is kinetic", neighbour masks and box/radius
+ * queries then read only these arrays, never the level.
+ * <p>
+ * The index follows chunk loads and unloads and block changes. It is only
+ * {@link #ready} once {@link ClientChangeHooks#tracked} shows block changes
+ * are actually reported; until then callers keep probing the level. The
+ * first reported change is the first change, so nothing is missed while
+ * waiting for it. Tracking starts with
+ * the first chunk load or client tick of a level, before the server has
+ * sent any chunk, so every chunk the client cache ever holds passes through
+ * {@link #chunkLoaded} and the index is complete from the start. A chunk the
+ * cache drops without an unload event only leaves stale entries, which
+ * callers re-check against the level. Client thread only.
+ */
+public final class KineticIndex {
+
+    private static final int SECTION_WORDS = 4096 / Long.SIZE;
+
+    private static final LongIntMap SECTIONS = new LongIntMap(256);
+    private static long[][] bits = new long[64][];
+    private static short[][] lists = new short[64][];
+    private static int[] counts = new int[64];
+    private static long[] keys = new long[64];
+    private static int[] freeSlots = new int[64];
+    private static int free;
+    private static int slots;
+    private static int blocks;
+
+    // Level indexed
+    @Nullable
+    private static Level level;
+
+    /**
+     * @return true if the index is complete for {@code level} and can answer
+     *         instead of the level
+     */
+    public static boolean ready(@Nullable final Level level) {
+        return level == KineticIndex.level && ClientChangeHooks.tracked(level);
+    }
+
+    /**
+     * Follow the current client level; call once per client tick.
+     */
+    public static void tick(final Level level) {
+        sync(level);
+    }
+
+    /**
+     * A chunk arrived (or was replaced) on the client.
+     */
+    public static void chunkLoaded(final Level level, final LevelChunk chunk) {
+        sync(level);
+        if (level == KineticIndex.level) {
+            indexChunk(chunk);
+        }
+    }
+
+    /**
+     * A chunk was dropped on the client.
+     */
+    public static void chunkUnloaded(final Level level, final int chunkX, final int chunkZ) {
+        if (level == KineticIndex.level) {
+            clearChunk(level, chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * The block at {@code pos} changed; re-classify its block entity.
+     */
+    public static void blockChanged(final Level level, final BlockPos pos) {
+        if (level != KineticIndex.level) {
+            return;
+        }
+        final BlockEntity be = level.getBlockEntity(pos);
+        if (be != null && !be.isRemoved() && CreateAccess.isKinetic(be)) {
+            add(pos.asLong());
+        } else {
+            remove(pos.asLong());
+        }
+    }
+
+    /**
+     * @return true if a kinetic block entity is indexed at the packed position
+     */
+    public static boolean isKinetic(final long pos) {
+        final int slot = SECTIONS.get(sectionKey(pos));
+        if (slot == LongIntMap.MISSING) {
+            return false;
+        }
+        final int local = local(pos);
+        return (bits[slot][local >>> 6] & (1L << local)) != 0;
+    }
+
+    /**
+     * @return Bit {@code d} set for each {@link KineticLinks} delta {@code d}
+     *         whose neighbour of {@code pos} is kinetic
+     */
+    public static int neighbours(final long pos) {
+        final int x = BlockPos.getX(pos);
+        final int y = BlockPos.getY(pos);
+        final int z = BlockPos.getZ(pos);
+        int mask = 0;
+        for (int d = 0; d < KineticLinks.DELTAS; d++) {
+            if (isKinetic(BlockPos.asLong(x + KineticLinks.DX[d], y + KineticLinks.DY[d], z + KineticLinks.DZ[d]))) {
+                mask |= 1 << d;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Visit every indexed kinetic block in a box (bounds inclusive).
+     *
+     * @param action Receives packed positions
+     * @return Number of blocks visited
+     */
+    public static int forEachInBox(
+        final int minX, final int minY, final int minZ,
+        final int maxX, final int maxY, final int maxZ,
+        final LongConsumer action
+    ) {
+        int visited = 0;
+        for (int sx = minX >> 4; sx <= maxX >> 4; sx++) {
+            for (int sz = minZ >> 4; sz <= maxZ >> 4; sz++) {
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    final int slot = SECTIONS.get(SectionPos.asLong(sx, sy, sz));
+                    if (slot == LongIntMap.MISSING) {
+                        continue;
+                    }
+                    final short[] list = lists[slot];
+                    for (int i = 0, n = counts[slot]; i < n; i++) {
+                        final int local = list[i];
+                        final int x = (sx << 4) | (local & 15);
+                        final int y = (sy << 4) | (local >>> 8);
+                        final int z = (sz << 4) | ((local >>> 4) & 15);
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                            action.accept(BlockPos.asLong(x, y, z));
+                            visited++;
+                        }
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Visit every indexed kinetic block within {@code radius} blocks of
+     * {@code center} (Euclidean, inclusive).
+     *
+     * @return Number of blocks visited
+     */
+    public static int forEachInRadius(final BlockPos center, final int radius, final LongConsumer action) {
+        final int cx = center.getX();
+        final int cy = center.getY();
+        final int cz = center.getZ();
+        final long r2 = (long) radius * radius;
+        return forEachInBox(cx - radius, cy - radius, cz - radius, cx + radius, cy + radius, cz + radius, pos -> {
+            final long dx = BlockPos.getX(pos) - cx;
+            final long dy = BlockPos.getY(pos) - cy;
+            final long dz = BlockPos.getZ(pos) - cz;
+            if (dx * dx + dy * dy + dz * dz <= r2) {
+                action.accept(pos);
+            }
+        });
+    }
+
+    /**
+     * @return Number of indexed kinetic blocks
+     */
+    public static int size() {
+        return blocks;
+    }
+
+    /**
+     * @return Number of sections holding kinetic blocks
+     */
+    public static int sections() {
+        return SECTIONS.size();
+    }
+
+    /**
+     * @return Bytes held by the index
+     */
+    public static long memoryBytes() {
+        long bytes = SECTIONS.memoryBytes() + (long) slots * (Long.BYTES + Integer.BYTES * 2L);
+        for (int s = 0; s < slots; s++) {
+            if (bits[s] != null) {
+                bytes += SECTION_WORDS * (long) Long.BYTES + lists[s].length * (long) Short.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private static void sync(final Level level) {
+        if (level == KineticIndex.level || !CreatePresent.isLoaded()) {
+            return;
+        }
+        clear();
+        KineticIndex.level = level;
+    }
+
+    private static void clear() {
+        SECTIONS.clear();
+        Arrays.fill(bits, null);
+        Arrays.fill(lists, null);
+        Arrays.fill(counts, 0);
+        free = 0;
+        slots = 0;
+        blocks = 0;
+        level = null;
+    }
+
+    private static void indexChunk(final LevelChunk chunk) {
+        final ChunkPos cp = chunk.getPos();
+        clearChunk(chunk.getLevel(), cp.x, cp.z);
+        for (final BlockEntity be : chunk.getBlockEntities().values()) {
+            if (!be.isRemoved() && CreateAccess.isKinetic(be)) {
+                add(be.getBlockPos().asLong());
+            }
+        }
+    }
+
+    private static void clearChunk(final Level level, final int chunkX, final int chunkZ) {
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            final long key = SectionPos.asLong(chunkX, sy, chunkZ);
+            final int slot = SECTIONS.remove(key);
+            if (slot != LongIntMap.MISSING) {
+                release(slot);
+            }
+        }
+    }
+
+    private static void add(final long pos) {
+        final long key = sectionKey(pos);
+        int slot = SECTIONS.get(key);
+        if (slot == LongIntMap.MISSING) {
+            slot = allocate(key);
+            SECTIONS.put(key, slot);
+        }
+        final int local = local(pos);
+        final long[] words = bits[slot];
+        if ((words[local >>> 6] & (1L << local)) != 0) {
+            return;
+        }
+        words[local >>> 6] |= 1L << local;
+        short[] list = lists[slot];
+        if (counts[slot] == list.length) {
+            list = Arrays.copyOf(list, list.length << 1);
+            lists[slot] = list;
+        }
+        list[counts[slot]++] = (short) local;
+        blocks++;
+    }
+
+    private static void remove(final long pos) {
+        final long key = sectionKey(pos);
+        final int slot = SECTIONS.get(key);
+        if (slot == LongIntMap.MISSING) {
+            return;
+        }
+        final int local = local(pos);
+        final long[] words = bits[slot];
+        if ((words[local >>> 6] & (1L << local)) == 0) {
+            return;
+        }
+        words[local >>> 6] &= ~(1L << local);
+        final short[] list = lists[slot];
+        final int n = counts[slot];
+        for (int i = 0; i < n; i++) {
+            if (list[i] == local) {
+                list[i] = list[n - 1]; // Order does not matter
+                break;
+            }
+        }
+        counts[slot] = n - 1;
+        blocks--;
+        if (n == 1) {
+            SECTIONS.remove(key);
+            release(slot);
+        }
+    }
+
+    private static int allocate(final long key) {
+        final int slot;
+        if (free > 0) {
+            slot = freeSlots[--free];
+        } else {
+            if (slots == bits.length) {
+                final int grown = slots << 1;
+                bits = Arrays.copyOf(bits, grown);
+                lists = Arrays.copyOf(lists, grown);
+                counts = Arrays.copyOf(counts, grown);
+                keys = Arrays.copyOf(keys, grown);
+                freeSlots = Arrays.copyOf(freeSlots, grown);
+            }
+            slot = slots++;
+        }
+        if (bits[slot] == null) {
+            bits[slot] = new long[SECTION_WORDS];
+            lists[slot] = new short[8];
+        }
+        keys[slot] = key;
+        counts[slot] = 0;
+        return slot;
+    }
+
+    private static void release(final int slot) {
+        blocks -= counts[slot];
+        counts[slot] = 0;
+        Arrays.fill(bits[slot], 0L);
+        freeSlots[free++] = slot;
+    }
+
+    private static long sectionKey(final long pos) {
+        return SectionPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getY(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+
+    /** Offset inside the section: y << 8 | z << 4 | x, 12 bits. */
+    private static int local(final long pos) {
+        return ((BlockPos.getY(pos) & 15) << 8) | ((BlockPos.getZ(pos) & 15) << 4) | (BlockPos.getX(pos) & 15);
+    }
+
+    private KineticIndex() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
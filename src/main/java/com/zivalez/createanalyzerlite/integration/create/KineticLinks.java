@@ -0,0 +1,224 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.LevelReader;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * Kinetic link rules between neighbouring blocks, precomputed per block state.
+ * <p>
+ * Two kinetic blocks are linked only if Create would propagate rotation
+ * between them: facing shafts (shafts, gearbox faces, cogwheel axles), small
+ * cogwheels meshing side by side, a large cogwheel meshing diagonally with a
+ * small one, or two large cogwheels at a right angle. Belts, chains and other
+ * long-range links are not followed.
+ * <p>
+ * Rules for each {@link BlockState} are packed into one {@code int} the first
+ * time the state is seen and stored in a table indexed by block state id:
+ * <ul>
+ *   <li>bits 0-17: deltas (see {@link #DX}) this block can possibly link through</li>
+ *   <li>bits 18-23: faces with a shaft, by {@link Direction} ordinal</li>
+ *   <li>bit 24: small cogwheel, bit 25: large cogwheel</li>
+ *   <li>bits 26-27: rotation axis ordinal + 1 (0 = none)</li>
+ * </ul>
+ * If Create's rotation API cannot be resolved every face counts as a shaft,
+ * which falls back to plain six-neighbour adjacency.
+ */
+public final class KineticLinks {
+
+    /** Number of neighbour deltas: 6 faces followed by 12 in-plane diagonals. */
+    public static final int DELTAS = 18;
+
+    static final int[] DX = new int[DELTAS];
+    static final int[] DY = new int[DELTAS];
+    static final int[] DZ = new int[DELTAS];
+    /** Face axis for faces, plane normal for diagonals (Axis ordinal). */
+    private static final int[] AXIS = new int[DELTAS];
+    private static final int[] OPPOSITE = new int[DELTAS];
+
+    private static final int CANDIDATE_MASK = (1 << DELTAS) - 1;
+    private static final int SHAFT_SHIFT = 18;
+    private static final int SMALL_COG = 1 << 24;
+    private static final int LARGE_COG = 1 << 25;
+    private static final int COG = SMALL_COG | LARGE_COG;
+    private static final int AXIS_SHIFT = 26;
+    private static final int RESOLVED = 1 << 30;
+
+    private static final int FALLBACK = RESOLVED | 0x3F | (0x3F << SHAFT_SHIFT);
+
+    static {
+        for (final Direction dir : Direction.values()) {
+            final int d = dir.ordinal();
+            DX[d] = dir.getStepX();
+            DY[d] = dir.getStepY();
+            DZ[d] = dir.getStepZ();
+            AXIS[d] = dir.getAxis().ordinal();
+            OPPOSITE[d] = dir.getOpposite().ordinal();
+        }
+        int i = 6;
+        for (final Direction.Axis normal : Direction.Axis.values()) {
+            for (int a = -1; a <= 1; a += 2) {
+                for (int b = -1; b <= 1; b += 2) {
+                    switch (normal) {
+                        case X -> { DY[i] = a; DZ[i] = b; }
+                        case Y -> { DX[i] = a; DZ[i] = b; }
+                        case Z -> { DX[i] = a; DY[i] = b; }
+                    }
+                    AXIS[i] = normal.ordinal();
+                    i++;
+                }
+            }
+        }
+        for (int d = 6; d < DELTAS; d++) {
+            for (int o = 6; o < DELTAS; o++) {
+                if (DX[o] == -DX[d] && DY[o] == -DY[d] && DZ[o] == -DZ[d]) {
+                    OPPOSITE[d] = o;
+                }
+            }
+        }
+    }
+
+    // Sized to the block state registry once; entries are written without
+    // locking, since a racing thread can only store the same value. Replaced
+    // under the class lock only to grow or clear.
+    private static volatile int[] table = new int[0];
+
+    /**
+     * Get the packed link rules of a kinetic block state.
+     * <p>
+     * Computed on first sight of the state (using {@code level}/{@code pos}
+     * for Create's shaft query), then served from the table. Safe to call
+     * from any thread (client, estimator worker, server in gametests).
+     */
+    public static int rules(final BlockState state, final LevelReader level, final BlockPos pos) {
+        final int id = Block.getId(state);
+        final int[] t = table;
+        if (id < t.length) {
+            int rules = t[id];
+            if (rules == 0) {
+                rules = compute(state, level, pos);
+                t[id] = rules;
+            }
+            return rules;
+        }
+        final int computed = compute(state, level, pos);
+        grow(id, computed);
+        return computed;
+    }
+
+    private static synchronized void grow(final int id, final int rules) {
+        int[] t = table;
+        if (id >= t.length) {
+            t = Arrays.copyOf(t, Math.max(id + 1, Block.BLOCK_STATE_REGISTRY.size()));
+            table = t;
+        }
+        t[id] = rules;
+    }
+
+    /**
+     * @return Bitmask of deltas worth probing from a block with these rules
+     */
+    public static int candidates(final int rules) {
+        return rules & CANDIDATE_MASK;
+    }
+
+    /**
+     * Check if two kinetic blocks are linked.
+     *
+     * @param from Rules of the block being expanded
+     * @param to Rules of the neighbour
+     * @param d Delta index from {@code from} to {@code to}
+     */
+    public static boolean linked(final int from, final int to, final int d) {
+        if (d < 6) {
+            if (hasShaft(from, d) && hasShaft(to, OPPOSITE[d])) {
+                return true;
+            }
+            // Small cogwheels side by side in their common plane
+            return (from & to & SMALL_COG) != 0
+                && axis(from) == axis(to)
+                && axis(from) != AXIS[d];
+        }
+        final int normal = AXIS[d];
+        final int fromAxis = axis(from);
+        final int toAxis = axis(to);
+        if (fromAxis == normal && toAxis == normal) {
+            // Large <-> small cogwheel, diagonal in their common plane
+            return (from & COG) != 0 && (to & COG) != 0 && ((from & LARGE_COG) != 0) != ((to & LARGE_COG) != 0);
+        }
+        // Large <-> large cogwheel at a right angle
+        return (from & to & LARGE_COG) != 0
+            && fromAxis != normal && toAxis != normal && fromAxis != toAxis;
+    }
+
+    /**
+     * Drop all computed rules (e.g. after Create's API changed availability).
+     */
+    public static synchronized void clear() {
+        table = new int[0];
+    }
+
+    // ====== computation ======
+
+    private static int compute(final BlockState state, final LevelReader level, final BlockPos pos) {
+        if (!CreateAccess.hasRotationRules() || !CreateAccess.isRotating(state.getBlock())) {
+            return FALLBACK;
+        }
+
+        int shafts = 0;
+        for (final Direction dir : Direction.values()) {
+            if (CreateAccess.hasShaftTowards(level, pos, state, dir)) {
+                shafts |= 1 << dir.ordinal();
+            }
+        }
+
+        // Cogwheel meshing needs a known axis
+        final Direction.Axis axis = CreateAccess.rotationAxis(state);
+        final int axisOrd = (axis == null) ? -1 : axis.ordinal();
+        final boolean large = axisOrd >= 0 && CreateAccess.isLargeCog(state);
+        final boolean small = axisOrd >= 0 && !large && CreateAccess.isSmallCog(state);
+        return pack(shafts, axisOrd, small, large);
+    }
+
+    /**
+     * Pack link rules from their parts. Also used to describe synthetic
+     * blocks in benchmarks.
+     *
+     * @param shafts Faces with a shaft, as bits by {@link Direction} ordinal
+     * @param axisOrd Rotation axis ordinal, or -1 if unknown
+     */
+    static int pack(final int shafts, final int axisOrd, final boolean small, final boolean large) {
+        int candidates = shafts;
+        for (int d = 0; d < DELTAS && (small || large); d++) {
+            final boolean possible = (d < 6)
+                ? small && AXIS[d] != axisOrd
+                : ((small || large) && AXIS[d] == axisOrd) || (large && AXIS[d] != axisOrd);
+            if (possible) {
+                candidates |= 1 << d;
+            }
+        }
+
+        return RESOLVED
+            | candidates
+            | (shafts << SHAFT_SHIFT)
+            | (small ? SMALL_COG : 0)
+            | (large ? LARGE_COG : 0)
+            | ((axisOrd + 1) << AXIS_SHIFT);
+    }
+
+    private static boolean hasShaft(final int rules, final int face) {
+        return (rules & (1 << (SHAFT_SHIFT + face))) != 0;
+    }
+
+    private static int axis(final int rules) {
+        return ((rules >>> AXIS_SHIFT) & 3) - 1;
+    }
+
+    private KineticLinks() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
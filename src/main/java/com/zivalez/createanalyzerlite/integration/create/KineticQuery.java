@@ -2,7 +2,10 @@ package com.zivalez.createanalyzerlite.integration.create;
 
 import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
 import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
 import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
 import javax.annotation.Nullable;
@@ -11,13 +14,10 @@ import javax.annotation.Nullable;
  * Query kinetic data from Create's block entities.
  * <p>
  * Safely reads client-available data from KineticBlockEntity
- * via reflection/API to avoid hard dependency on Create internals.
+ * through {@link CreateAccess} to avoid hard dependency on Create internals.
  */
 public final class KineticQuery {
     
-    // Create API class names (reflection fallback)
-    private static final String KINETIC_BE_CLASS = "com.simibubi.create.content.kinetics.base.KineticBlockEntity";
-    
     /**
      * Query kinetic data from block entity.
      * 
@@ -31,18 +31,16 @@ public final class KineticQuery {
             return null;
         }
         
+        if (!CreateAccess.isKinetic(be)) {
+            return null; // Not a kinetic block
+        }
+        
         try {
-            // Try to cast to KineticBlockEntity
-            final Class<?> kineticClass = Class.forName(KINETIC_BE_CLASS);
-            if (!kineticClass.isInstance(be)) {
-                return null; // Not a kinetic block
-            }
-            
             // Read speed (client-synced field)
-            final float speed = getSpeed(be, kineticClass);
+            final float speed = CreateAccess.speed(be);
             
             // Try to read stress from network (client may not have this)
-            final StressData stress = getStressData(be, kineticClass, config);
+            final StressData stress = getStressData(be, config);
             
             return new KineticData(
                 speed,
@@ -60,12 +58,107 @@ public final class KineticQuery {
     }
     
     /**
-     * Get speed from kinetic block entity.
+     * Schedule a background refresh of the network through a block entity.
+     * <p>
+     * Returns immediately; the result shows up in {@link #latest}.
+     *
+     * @param be Block entity to query
+     * @param config Configuration data
      */
-    private static float getSpeed(final BlockEntity be, final Class<?> kineticClass) throws Exception {
-        final var speedField = kineticClass.getDeclaredField("speed");
-        speedField.setAccessible(true);
-        return speedField.getFloat(be);
+    public static void requestAsync(final BlockEntity be, final ConfigData config) {
+        if (!CreatePresent.isLoaded() || be.getLevel() == null || !CreateAccess.isKinetic(be)) {
+            return;
+        }
+        final long start = StageProfiler.start();
+        NetworkEstimator.request(be, be.getLevel(), config);
+        StageProfiler.end(Stage.BFS, start);
+    }
+    
+    /**
+     * Whether an earlier {@link #requestAsync} is still running; a new
+     * request would replace it.
+     */
+    public static boolean busy() {
+        return NetworkEstimator.busy();
+    }
+    
+    /**
+     * Cached result for the network a block entity belongs to.
+     * <p>
+     * Any member of a recently measured network hits; the speed is re-read
+     * from the block entity.
+     *
+     * @param be Block entity to look up
+     * @param currentTick Current game tick
+     * @param config Configuration data (cache TTL)
+     * @return Kinetic data or null on a cache miss
+     */
+    @Nullable
+    public static KineticData cached(final BlockEntity be, final long currentTick, final ConfigData config) {
+        if (be.getLevel() == null || !CreateAccess.isKinetic(be)) {
+            return null;
+        }
+        return withSpeedOf(be, NetworkEstimator.cached(be.getLevel(), be.getBlockPos(), currentTick, config.cacheTtlTicks()));
+    }
+    
+    /**
+     * Member positions of the cached network a block entity belongs to.
+     *
+     * @return Read-only packed positions, or null on a cache miss
+     */
+    @Nullable
+    public static long[] members(final BlockEntity be, final long currentTick, final ConfigData config) {
+        if (be.getLevel() == null || !CreateAccess.isKinetic(be)) {
+            return null;
+        }
+        return NetworkEstimator.members(be.getLevel(), be.getBlockPos(), currentTick, config.cacheTtlTicks());
+    }
+    
+    /**
+     * Whether two kinetic blocks are known to share a network. Never traverses.
+     */
+    public static boolean sameNetwork(final BlockEntity be, final BlockPos other) {
+        return be.getLevel() != null && NetworkEstimator.sameNetwork(be.getLevel(), be.getBlockPos(), other);
+    }
+    
+    /**
+     * Whether two blocks are members of the same cached network result. Never
+     * traverses; false when the network is not cached.
+     */
+    public static boolean sameCachedNetwork(final BlockEntity be, final BlockPos other, final long currentTick) {
+        return be.getLevel() != null && NetworkEstimator.sameCachedNetwork(be.getLevel(), be.getBlockPos(), other, currentTick);
+    }
+    
+    /**
+     * Latest published kinetic data for a block entity. Never blocks.
+     * 
+     * @param be Block entity previously passed to {@link #requestAsync}, or
+     *           one known to share its network
+     * @return Kinetic data or null if no estimate has been published yet
+     */
+    @Nullable
+    public static KineticData latest(final BlockEntity be) {
+        return withSpeedOf(be, NetworkEstimator.published(be.getBlockPos()));
+    }
+    
+    /**
+     * Network results carry the measured block's speed; swap in this block's
+     * own (live) speed, which differs across gear ratios.
+     */
+    @Nullable
+    public static KineticData withSpeedOf(final BlockEntity be, @Nullable final KineticData data) {
+        if (data == null) {
+            return null;
+        }
+        final float speed = CreateAccess.speed(be);
+        return (speed == data.speed()) ? data : new KineticData(
+            speed,
+            data.stressConsumption(),
+            data.stressCapacity(),
+            data.nodes(),
+            data.stressApproximate(),
+            data.nodesApproximate()
+        );
     }
     
     /**
@@ -75,7 +168,6 @@ public final class KineticQuery {
      */
     private static StressData getStressData(
         final BlockEntity be,
-        final Class<?> kineticClass,
         final ConfigData config
     ) {
         try {
@@ -85,7 +177,10 @@ public final class KineticQuery {
             
             // For now, use estimator as primary method
             final Minecraft mc = Minecraft.getInstance();
-            return NetworkEstimator.estimate(be, mc.level, config);
+            final long start = StageProfiler.start();
+            final StressData estimate = NetworkEstimator.estimate(be, mc.level, config);
+            StageProfiler.end(Stage.BFS, start);
+            return estimate;
             
         } catch (final Exception e) {
             CreateAnalyzerLite.LOGGER.debug("Network query failed, using estimator: {}", e.getMessage());
@@ -97,7 +192,7 @@ public final class KineticQuery {
     /**
      * Internal stress data holder.
      */
-    record StressData(
+    public record StressData(
         double consumption,
         double capacity,
         int nodes,
@@ -0,0 +1,15 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+/**
+ * What a block does in a kinetic network, as classified by {@link StressTable}.
+ */
+public enum KineticRole {
+    /** Not a Create kinetic block. */
+    NONE,
+    /** Passes rotation on without stress impact (shafts, cogwheels, gearboxes). */
+    TRANSMISSION,
+    /** Adds stress impact while rotating. */
+    CONSUMER,
+    /** Adds stress capacity while rotating. */
+    GENERATOR
+}
@@ -0,0 +1,220 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Capture of the kinetic blocks around a target.
+ * <p>
+ * Captured on the client thread from the loaded chunks within a square chunk
+ * radius: every kinetic block entity is classified once and stored as its
+ * packed position, {@link KineticLinks} rules and stress estimate. The result
+ * holds no reference to the level, so a background traversal can walk it
+ * safely. Blocks outside the captured area read as {@link #NONE}, so a
+ * network reaching its edge may be cut off ({@link #reachesEdge}). Once the
+ * {@link KineticIndex} is ready, only its kinetic positions are visited.
+ * <p>
+ * On a level that reports changes, a capture is reused for the next target
+ * inside its area until a change is reported, so repeated requests for the
+ * same networks do not rescan the chunks.
+ * <p>
+ * The captured columns never change after capture and may be shared by
+ * several snapshots. Each snapshot's {@link KineticView} load position is
+ * mutable and belongs to the single thread traversing it.
+ */
+public final class KineticSnapshot implements KineticView {
+
+    private final long origin;
+    private final float originSpeed;
+    private final LongIntMap index;
+    private final int[] rules;
+    private final float[] consumption;
+    private final float[] capacity;
+    // Captured area in block coordinates (inclusive, full height)
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+
+    private int current = -1;
+
+    // Latest capture, reused while current (client thread only)
+    @Nullable
+    private static KineticSnapshot last;
+    @Nullable
+    private static Level lastLevel;
+    private static int lastEpoch;
+
+    private KineticSnapshot(
+        final long origin,
+        final float originSpeed,
+        final LongIntMap index,
+        final int[] rules,
+        final float[] consumption,
+        final float[] capacity,
+        final int minX,
+        final int minZ,
+        final int maxX,
+        final int maxZ
+    ) {
+        this.origin = origin;
+        this.originSpeed = originSpeed;
+        this.index = index;
+        this.rules = rules;
+        this.consumption = consumption;
+        this.capacity = capacity;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Capture kinetic blocks around a target block entity.
+     *
+     * @param level Level owning the target (client thread only)
+     * @param target Kinetic block entity the traversal will start from
+     * @param chunkRadius Chunks to capture in each direction around the target
+     */
+    public static KineticSnapshot capture(final Level level, final BlockEntity target, final int chunkRadius) {
+        final BlockPos center = target.getBlockPos();
+        final int centerX = center.getX() >> 4;
+        final int centerZ = center.getZ() >> 4;
+        final int minX = (centerX - chunkRadius) << 4;
+        final int minZ = (centerZ - chunkRadius) << 4;
+        final int maxX = ((centerX + chunkRadius) << 4) + 15;
+        final int maxZ = ((centerZ + chunkRadius) << 4) + 15;
+
+        final KineticSnapshot previous = last;
+        final boolean tracking = NetworkEstimator.tracking(level);
+        if (previous != null && tracking && level == lastLevel && lastEpoch == NetworkEstimator.epoch()
+            && minX >= previous.minX && minZ >= previous.minZ && maxX <= previous.maxX && maxZ <= previous.maxZ) {
+            // Nothing changed since: share the columns, only the origin differs
+            return new KineticSnapshot(center.asLong(), CreateAccess.speed(target), previous.index,
+                previous.rules, previous.consumption, previous.capacity,
+                previous.minX, previous.minZ, previous.maxX, previous.maxZ);
+        }
+
+        final Builder builder = new Builder(level);
+        if (KineticIndex.ready(level)) {
+            // Visit only the indexed kinetic blocks instead of every block entity
+            KineticIndex.forEachInBox(minX, level.getMinBuildHeight(), minZ, maxX, level.getMaxBuildHeight() - 1, maxZ,
+                builder::addAt);
+        } else {
+            for (int cx = centerX - chunkRadius; cx <= centerX + chunkRadius; cx++) {
+                for (int cz = centerZ - chunkRadius; cz <= centerZ + chunkRadius; cz++) {
+                    final LevelChunk chunk = level.getChunkSource().getChunkNow(cx, cz);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    for (final BlockEntity be : chunk.getBlockEntities().values()) {
+                        builder.add(be);
+                    }
+                }
+            }
+        }
+
+        final KineticSnapshot snapshot = new KineticSnapshot(center.asLong(), CreateAccess.speed(target),
+            builder.index, builder.rules, builder.consumption, builder.capacity, minX, minZ, maxX, maxZ);
+        last = tracking ? snapshot : null;
+        lastLevel = tracking ? level : null;
+        lastEpoch = NetworkEstimator.epoch();
+        return snapshot;
+    }
+
+    /** Growable columns filled during {@link #capture}. */
+    private static final class Builder {
+
+        private final Level level;
+        private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        private final LongIntMap index = new LongIntMap(256);
+        private int[] rules = new int[256];
+        private float[] consumption = new float[256];
+        private float[] capacity = new float[256];
+        private int count;
+
+        Builder(final Level level) {
+            this.level = level;
+        }
+
+        void addAt(final long pos) {
+            add(level.getBlockEntity(cursor.set(pos)));
+        }
+
+        void add(@Nullable final BlockEntity be) {
+            if (be == null || be.isRemoved() || !CreateAccess.isKinetic(be)) {
+                return;
+            }
+            if (count == rules.length) {
+                rules = Arrays.copyOf(rules, count << 1);
+                consumption = Arrays.copyOf(consumption, count << 1);
+                capacity = Arrays.copyOf(capacity, count << 1);
+            }
+            index.put(be.getBlockPos().asLong(), count);
+            rules[count] = KineticLinks.rules(be.getBlockState(), level, be.getBlockPos());
+            consumption[count] = (float) NetworkEstimator.blockConsumption(be);
+            capacity[count] = (float) NetworkEstimator.blockCapacity(be);
+            count++;
+        }
+    }
+
+    /**
+     * @return Packed position of the capture's target
+     */
+    public long origin() {
+        return origin;
+    }
+
+    /**
+     * @return Target speed at capture time, in RPM
+     */
+    public float originSpeed() {
+        return originSpeed;
+    }
+
+    /**
+     * Whether a traversal result may continue past the captured area: any
+     * member on its outermost block columns can link to uncaptured blocks.
+     *
+     * @param members Packed positions reached by the traversal
+     */
+    public boolean reachesEdge(final long[] members) {
+        for (final long pos : members) {
+            final int x = BlockPos.getX(pos);
+            final int z = BlockPos.getZ(pos);
+            if (x <= minX || x >= maxX || z <= minZ || z >= maxZ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Number of kinetic blocks captured
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public int load(final long pos) {
+        current = index.get(pos);
+        return (current == LongIntMap.MISSING) ? NONE : rules[current];
+    }
+
+    @Override
+    public double consumption() {
+        return (current < 0) ? 0.0 : consumption[current];
+    }
+
+    @Override
+    public double capacity() {
+        return (current < 0) ? 0.0 : capacity[current];
+    }
+}
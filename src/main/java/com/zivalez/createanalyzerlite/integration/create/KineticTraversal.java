@@ -0,0 +1,216 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.util.LongRingQueue;
+import com.zivalez.createanalyzerlite.util.StampedLongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reusable, allocation-free BFS engine over kinetic blocks.
+ * <p>
+ * Positions are packed with {@link BlockPos#asLong}, visited nodes live in a
+ * {@link StampedLongSet} and the frontier in a {@link LongRingQueue}. Scratch
+ * buffers are kept between runs, so once they have grown to the working size
+ * a traversal allocates nothing. Blocks are read through a {@link KineticView}:
+ * a live level (via {@link ChunkCursor}) or an immutable {@link KineticSnapshot}.
+ * Only neighbours that {@link KineticLinks} considers linked are followed, so
+ * parallel lines and touching but unconnected blocks are pruned.
+ * <p>
+ * A traversal either runs to completion ({@link #run}) or is time-sliced:
+ * {@link #begin} once, then {@link #advance} with a time budget until it
+ * reports completion. One instance per thread.
+ */
+public final class KineticTraversal {
+
+    /** Nodes expanded between clock reads in time-sliced mode. */
+    private static final int CLOCK_CHECK_INTERVAL = 32;
+
+    private final StampedLongSet visited = new StampedLongSet(1024);
+    private final LongRingQueue queue = new LongRingQueue(256);
+    private final LevelKineticView levelView = new LevelKineticView();
+
+    private long peakMemoryBytes;
+
+    // Traversal in progress
+    @Nullable
+    private KineticView view;
+    private int maxNodes;
+    private boolean done = true;
+
+    // Results of the current (partial) or last run
+    private int nodes;
+    private double consumption;
+    private double capacity;
+    private boolean capped;
+
+    /**
+     * Traverse the kinetic network connected to {@code start} in a live level.
+     *
+     * @param level Level to read block entities from (owning thread only)
+     * @param start Starting block position (assumed kinetic)
+     * @param maxNodes Maximum number of nodes to visit
+     */
+    public void run(final Level level, final BlockPos start, final int maxNodes) {
+        begin(level, start, maxNodes);
+        advance(Long.MAX_VALUE);
+    }
+
+    /**
+     * Traverse the kinetic network connected to {@code origin}.
+     *
+     * @param view Kinetic blocks to walk
+     * @param origin Packed starting position (assumed kinetic)
+     * @param maxNodes Maximum number of nodes to visit
+     */
+    public void run(final KineticView view, final long origin, final int maxNodes) {
+        begin(view, origin, maxNodes);
+        advance(Long.MAX_VALUE);
+    }
+
+    /**
+     * Start a resumable traversal in a live level; see {@link #advance}.
+     */
+    public void begin(final Level level, final BlockPos start, final int maxNodes) {
+        levelView.reset(level);
+        begin(levelView, start.asLong(), maxNodes);
+    }
+
+    /**
+     * Start a resumable traversal. Nothing is visited until {@link #advance}.
+     *
+     * @param view Kinetic blocks to walk
+     * @param origin Packed starting position (assumed kinetic)
+     * @param maxNodes Maximum number of nodes to visit
+     */
+    public void begin(final KineticView view, final long origin, final int maxNodes) {
+        visited.clear();
+        queue.clear();
+        this.view = view;
+        this.maxNodes = maxNodes;
+        nodes = 0;
+        consumption = 0.0;
+        capacity = 0.0;
+        capped = false;
+        done = false;
+
+        visited.add(origin);
+        queue.add(origin);
+    }
+
+    /**
+     * Continue the current traversal until it completes or the time budget
+     * is spent. Frontier, visited set and running sums persist between calls,
+     * so {@link #nodes()} and the stress sums are partial results until this
+     * returns true.
+     *
+     * @param budgetNanos Time budget for this call ({@code Long.MAX_VALUE} = unbounded)
+     * @return true if the traversal is complete
+     */
+    public boolean advance(final long budgetNanos) {
+        final KineticView view = this.view;
+        if (done || view == null) {
+            return true;
+        }
+        final boolean timed = budgetNanos != Long.MAX_VALUE;
+        final long deadline = timed ? System.nanoTime() + budgetNanos : 0L;
+        int sinceCheck = 0;
+
+        while (!queue.isEmpty() && nodes < maxNodes) {
+            if (timed && ++sinceCheck == CLOCK_CHECK_INTERVAL) {
+                sinceCheck = 0;
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+            }
+            expand(view, queue.poll());
+        }
+
+        capped = nodes >= maxNodes;
+        done = true;
+        this.view = null;
+        peakMemoryBytes = Math.max(peakMemoryBytes, visited.memoryBytes() + queue.memoryBytes());
+        return true;
+    }
+
+    /**
+     * @return true if no traversal is in progress
+     */
+    public boolean done() {
+        return done;
+    }
+
+    private void expand(final KineticView view, final long current) {
+        nodes++;
+
+        // Stress contribution of this block
+        final int from = view.load(current);
+        if (from == KineticView.NONE) {
+            return;
+        }
+        consumption += view.consumption();
+        capacity += view.capacity();
+
+        // Linked neighbours
+        final int x = BlockPos.getX(current);
+        final int y = BlockPos.getY(current);
+        final int z = BlockPos.getZ(current);
+        final int candidates = KineticLinks.candidates(from);
+        for (int d = 0; d < KineticLinks.DELTAS; d++) {
+            if ((candidates & (1 << d)) == 0) {
+                continue;
+            }
+            final long neighbor = BlockPos.asLong(x + KineticLinks.DX[d], y + KineticLinks.DY[d], z + KineticLinks.DZ[d]);
+            if (visited.contains(neighbor)) {
+                continue;
+            }
+            final int to = view.load(neighbor);
+            if (to != KineticView.NONE && KineticLinks.linked(from, to, d)) {
+                visited.add(neighbor);
+                queue.add(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Copy the positions reached so far: the expanded nodes plus the frontier.
+     * Allocates; meant for once-per-result use such as cache keys.
+     */
+    public long[] members() {
+        return visited.toArray();
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+
+    public double consumption() {
+        return consumption;
+    }
+
+    public double capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return true if the last completed run stopped at the node limit
+     */
+    public boolean capped() {
+        return capped;
+    }
+
+    /**
+     * @return Chunk cursor of the last live-level run (hit/miss counters)
+     */
+    public ChunkCursor cursor() {
+        return levelView.cursor();
+    }
+
+    /**
+     * @return Largest scratch-buffer footprint seen so far, in bytes
+     */
+    public long peakMemoryBytes() {
+        return peakMemoryBytes;
+    }
+}
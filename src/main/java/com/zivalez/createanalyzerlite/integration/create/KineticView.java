@@ -0,0 +1,36 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * Read-only view of kinetic blocks that a {@link KineticTraversal} walks.
+ * <p>
+ * Implemented over a live level ({@link LevelKineticView}) and over an
+ * immutable capture ({@link KineticSnapshot}). Lookups are stateful to stay
+ * allocation-free: {@link #load} positions the view on one block and the
+ * stress accessors describe that block until the next load. A view is used
+ * by one traversal on one thread at a time.
+ */
+public interface KineticView {
+
+    /** Rules value for positions without a kinetic block. */
+    int NONE = 0;
+
+    /**
+     * Position the view on a block.
+     *
+     * @param pos Position packed with {@link BlockPos#asLong}
+     * @return {@link KineticLinks} rules of the kinetic block there, or {@link #NONE}
+     */
+    int load(long pos);
+
+    /**
+     * @return Estimated stress consumption of the last loaded block
+     */
+    double consumption();
+
+    /**
+     * @return Estimated stress capacity added by the last loaded block
+     */
+    double capacity();
+}
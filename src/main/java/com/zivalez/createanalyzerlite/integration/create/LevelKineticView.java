@@ -0,0 +1,68 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@link KineticView} over a live level.
+ * <p>
+ * Reads block entities through a {@link ChunkCursor}; must be used on the
+ * thread that owns the level. Positions the {@link KineticIndex} knows are
+ * not kinetic are rejected without touching the level.
+ */
+public final class LevelKineticView implements KineticView {
+
+    private final ChunkCursor cursor = new ChunkCursor();
+
+    @Nullable
+    private Level level;
+    @Nullable
+    private BlockEntity current;
+    private boolean indexed;
+
+    /**
+     * Point the view at a level and reset the cursor counters.
+     */
+    public void reset(final Level level) {
+        this.level = level;
+        this.current = null;
+        this.indexed = KineticIndex.ready(level);
+        cursor.reset(level);
+        cursor.resetCounters();
+    }
+
+    @Override
+    public int load(final long pos) {
+        if (indexed && !KineticIndex.isKinetic(pos)) {
+            // Not kinetic for sure: skip the chunk and block entity lookups
+            current = null;
+            return NONE;
+        }
+        final BlockEntity be = cursor.getBlockEntity(pos);
+        if (level == null || !CreateAccess.isKinetic(be)) {
+            current = null;
+            return NONE;
+        }
+        current = be;
+        return KineticLinks.rules(be.getBlockState(), level, be.getBlockPos());
+    }
+
+    @Override
+    public double consumption() {
+        return (current == null) ? 0.0 : NetworkEstimator.blockConsumption(current);
+    }
+
+    @Override
+    public double capacity() {
+        return (current == null) ? 0.0 : NetworkEstimator.blockCapacity(current);
+    }
+
+    /**
+     * @return Chunk cursor (hit/miss counters)
+     */
+    public ChunkCursor cursor() {
+        return cursor;
+    }
+}
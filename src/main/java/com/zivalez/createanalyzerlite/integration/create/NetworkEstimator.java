@@ -1,25 +1,89 @@
 package com.zivalez.createanalyzerlite.integration.create;
 
 import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.config.ClientConfig.EstimationMode;
 import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.diagnostics.TraversalEvent;
+import com.zivalez.createanalyzerlite.platform.ClientChangeHooks;
+import com.zivalez.createanalyzerlite.util.LruCache;
+import com.zivalez.createanalyzerlite.util.StampedLongSet;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
 
-import java.util.*;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongPredicate;
 
 /**
  * Estimates kinetic network size and stress via BFS traversal.
  * <p>
  * Used when Create's client network data is unavailable.
  * Respects maxBfsNodes config limit to prevent performance issues.
+ * The traversal itself runs on a per-thread {@link KineticTraversal}
+ * whose buffers are reused between estimates.
+ * <p>
+ * The overlay uses {@link #request}/{@link #published}. In
+ * {@link EstimationMode#WORKER} mode the client thread only captures a
+ * {@link KineticSnapshot} and the BFS runs on the {@link EstimatorWorker}
+ * thread; in {@link EstimationMode#INCREMENTAL} mode the BFS is time-sliced
+ * across client ticks by {@link IncrementalEstimator}. Both publish here.
+ * <p>
+ * Complete results are also kept in an LRU cache under every member position
+ * of the network, so {@link #cached} answers for any block of a recently
+ * measured network without another traversal. The same results feed a
+ * {@link NetworkMembership} index, which tells whether two blocks share a
+ * network without traversing at all. Since union-find cannot split, the index
+ * is cleared whenever a known block changes and, on levels that do not
+ * report changes, every {@code cacheTtlTicks}.
+ * <p>
+ * On levels that report changes ({@link ClientChangeHooks#tracked}) complete cached
+ * results never expire; instead a changed block (or a changed neighbour that could link to
+ * it), a block entity speed change, or a chunk load/unload drops only the
+ * cached networks it touches. Chunk changes are collected and applied once
+ * per tick. Results whose traversal overlapped a reported change, capped or
+ * truncated results, and all results elsewhere, expire after
+ * {@code cacheTtlTicks}.
+ * <p>
+ * Every traversal (synchronous, worker or time-sliced) is a JFR
+ * {@link TraversalEvent}; cache activity shows up as cache events.
  */
 public final class NetworkEstimator {
-    
-    // Create block class names for identification
-    private static final String KINETIC_BE_CLASS = "com.simibubi.create.content.kinetics.base.KineticBlockEntity";
-    
+
+    private static final ThreadLocal<KineticTraversal> TRAVERSAL = ThreadLocal.withInitial(KineticTraversal::new);
+
+    private static final AtomicReference<Published> PUBLISHED = new AtomicReference<>();
+
+    /** Networks kept in the result cache. */
+    private static final int CACHE_MAX_NETWORKS = 64;
+    /** Member positions kept across all cached networks. */
+    private static final int CACHE_MAX_POSITIONS = 65536;
+
+    /** Known blocks before the membership index is rebuilt from scratch. */
+    private static final int MEMBERSHIP_MAX_BLOCKS = 1 << 20;
+
+    /** Cache lifetime on levels that report changes: until invalidated. */
+    private static final int TRACKED_TTL_TICKS = Integer.MAX_VALUE;
+
+    // Client thread only
+    private static final LruCache<KineticData> CACHE = new LruCache<>("networks", CACHE_MAX_NETWORKS, CACHE_MAX_POSITIONS);
+    private static final NetworkMembership MEMBERSHIP = new NetworkMembership(4096);
+    @Nullable
+    private static Published lastCached;
+    @Nullable
+    private static Level cacheLevel;
+    // Tick at which membership is dropped on levels that do not report changes
+    private static long membershipExpiry;
+
+    // Chunks loaded or unloaded since the last tick (packed ChunkPos)
+    private static final StampedLongSet CHANGED_CHUNKS = new StampedLongSet(64);
+    // Bumped by every reported change; results computed across a change get the TTL
+    private static int epoch;
+    private static final LongPredicate IN_CHANGED_CHUNK = pos ->
+        CHANGED_CHUNKS.contains(ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4));
+
     /**
      * Estimate network metrics via BFS.
      */
@@ -28,101 +92,325 @@ public final class NetworkEstimator {
         final Level level,
         final ConfigData config
     ) {
-        final Set<BlockPos> visited = new HashSet<>();
-        final Queue<BlockPos> queue = new ArrayDeque<>();
-        
-        queue.add(startBe.getBlockPos());
-        visited.add(startBe.getBlockPos());
-        
-        int nodeCount = 0;
-        double estimatedConsumption = 0.0;
-        double estimatedCapacity = 0.0;
-        
-        final int maxNodes = config.maxBfsNodes();
-        
-        while (!queue.isEmpty() && nodeCount < maxNodes) {
-            final BlockPos current = queue.poll();
-            nodeCount++;
-            
-            // Estimate stress contribution of this block
-            final BlockEntity be = level.getBlockEntity(current);
-            if (be != null && isKineticBlock(be)) {
-                final StressContribution contrib = estimateBlockStress(be);
-                estimatedConsumption += contrib.consumption();
-                estimatedCapacity += contrib.capacity();
-            }
-            
-            // Add neighbors
-            for (final Direction dir : Direction.values()) {
-                final BlockPos neighbor = current.relative(dir);
-                
-                if (visited.contains(neighbor)) {
-                    continue;
-                }
-                
-                final BlockEntity neighborBe = level.getBlockEntity(neighbor);
-                if (neighborBe != null && isKineticBlock(neighborBe)) {
-                    queue.add(neighbor);
-                    visited.add(neighbor);
-                }
-            }
+        return estimate(startBe, level, config.maxBfsNodes());
+    }
+
+    /**
+     * Estimate network metrics via BFS with an explicit node limit.
+     * Works on any level, including server levels (e.g. in gametests).
+     */
+    public static KineticQuery.StressData estimate(
+        final BlockEntity startBe,
+        final Level level,
+        final int maxNodes
+    ) {
+        final KineticTraversal traversal = TRAVERSAL.get();
+        final BlockPos start = startBe.getBlockPos();
+        final TraversalEvent event = new TraversalEvent();
+        event.begin();
+        traversal.run(level, start, maxNodes);
+        if (event.shouldCommit()) {
+            event.describe(TraversalEvent.SYNC, start.getX(), start.getY(), start.getZ(),
+                traversal.nodes(), traversal.capped(), 1);
+            event.commit();
         }
-        
-        final boolean capped = nodeCount >= maxNodes;
-        if (capped) {
+
+        if (traversal.capped()) {
             CreateAnalyzerLite.LOGGER.debug("BFS capped at {} nodes", maxNodes);
         }
-        
+        if (CreateAnalyzerLite.LOGGER.isTraceEnabled()) {
+            CreateAnalyzerLite.LOGGER.trace("BFS visited {} nodes, chunk cursor {} hits / {} misses",
+                traversal.nodes(), traversal.cursor().hits(), traversal.cursor().misses());
+        }
+
         return new KineticQuery.StressData(
-            estimatedConsumption,
-            estimatedCapacity,
-            nodeCount,
+            traversal.consumption(),
+            traversal.capacity(),
+            traversal.nodes(),
             true // Always approximate
         );
     }
-    
+
+    /**
+     * Start a non-blocking estimate of the network through {@code startBe}
+     * using the configured {@link EstimationMode}. Call on the level's thread.
+     */
+    public static void request(
+        final BlockEntity startBe,
+        final Level level,
+        final ConfigData config
+    ) {
+        switch (config.estimationMode()) {
+            case WORKER -> {
+                final KineticSnapshot snapshot = KineticSnapshot.capture(level, startBe, config.snapshotChunkRadius());
+                EstimatorWorker.submit(snapshot, config.maxBfsNodes(), epoch);
+            }
+            case INCREMENTAL -> IncrementalEstimator.request(startBe, level, config);
+        }
+    }
+
+    /**
+     * Whether a requested estimate has not been published yet (complete
+     * results only, for time-sliced traversals). A new {@link #request}
+     * replaces such work, so schedulers should wait for this to clear.
+     */
+    public static boolean busy() {
+        return EstimatorWorker.busy() || IncrementalEstimator.busy();
+    }
+
+    /**
+     * Advance time-sliced estimation work; call once per client tick.
+     */
+    public static void tick(final Level level, final ConfigData config) {
+        if (CHANGED_CHUNKS.size() > 0) {
+            if (level == cacheLevel && CACHE.size() > 0) {
+                CACHE.invalidateIf(IN_CHANGED_CHUNK);
+            }
+            CHANGED_CHUNKS.clear();
+        }
+        IncrementalEstimator.tick(level, config);
+    }
+
+    /**
+     * A block state changed on the client. Drops cached networks containing
+     * the block or, if a block entity is involved, any block it could link to.
+     * Any change to a block in the membership index clears it, since
+     * union-find cannot split the network a broken or rotated block leaves.
+     */
+    public static void blockChanged(final Level level, final BlockPos pos, final BlockState oldState, final BlockState newState) {
+        if (level != cacheLevel || oldState == newState) {
+            return;
+        }
+        // Only blocks with block entities can be kinetic
+        if (!oldState.hasBlockEntity() && !newState.hasBlockEntity()) {
+            return;
+        }
+        epoch++;
+        final long packed = pos.asLong();
+        if (MEMBERSHIP.networkId(packed) != NetworkMembership.UNKNOWN) {
+            MEMBERSHIP.clear();
+        }
+        if (CACHE.size() == 0) {
+            return;
+        }
+        CACHE.invalidate(packed);
+        for (int d = 0; d < KineticLinks.DELTAS; d++) {
+            CACHE.invalidate(BlockPos.offset(packed, KineticLinks.DX[d], KineticLinks.DY[d], KineticLinks.DZ[d]));
+        }
+    }
+
+    /**
+     * A block entity's synced speed changed; its network's stress did too.
+     */
+    public static void speedChanged(@Nullable final Level level, final BlockPos pos) {
+        if (level != null && level == cacheLevel) {
+            epoch++;
+            CACHE.invalidate(pos.asLong());
+        }
+    }
+
+    /**
+     * A chunk was loaded or unloaded on the client. Networks with blocks in it
+     * are dropped at the next {@link #tick}; for a load also networks in the
+     * neighbouring chunks, which may continue into it.
+     */
+    public static void chunkChanged(final Level level, final int chunkX, final int chunkZ, final boolean loaded) {
+        if (level != cacheLevel) {
+            return;
+        }
+        epoch++;
+        CHANGED_CHUNKS.add(ChunkPos.asLong(chunkX, chunkZ));
+        if (loaded) {
+            CHANGED_CHUNKS.add(ChunkPos.asLong(chunkX + 1, chunkZ));
+            CHANGED_CHUNKS.add(ChunkPos.asLong(chunkX - 1, chunkZ));
+            CHANGED_CHUNKS.add(ChunkPos.asLong(chunkX, chunkZ + 1));
+            CHANGED_CHUNKS.add(ChunkPos.asLong(chunkX, chunkZ - 1));
+        }
+    }
+
     /**
-     * Check if block entity is a kinetic block.
+     * Latest published estimate for the network containing {@code pos}.
+     * Served for the measured origin, and for the other members of a complete
+     * result only while it is cached (a change drops it). Client thread only.
+     *
+     * @param pos Target passed to {@link #request}, or any member of its
+     *            latest complete result
+     * @return Latest estimate (speed is the measured origin's), or null if none yet
      */
-    private static boolean isKineticBlock(final BlockEntity be) {
-        try {
-            final Class<?> kineticClass = Class.forName(KINETIC_BE_CLASS);
-            return kineticClass.isInstance(be);
-        } catch (final ClassNotFoundException e) {
-            return false;
+    @Nullable
+    public static KineticData published(final BlockPos pos) {
+        final Published p = PUBLISHED.get();
+        if (p == null) {
+            return null;
+        }
+        final long packed = pos.asLong();
+        if (p.origin() == packed) {
+            return p.data();
         }
+        // Members are cached under the published array itself once folded in by #cached
+        return (p.members() != null && p == lastCached && CACHE.keysOf(packed) == p.members()) ? p.data() : null;
     }
-    
+
     /**
-     * Estimate stress contribution of a block.
+     * Whether two blocks are known to share a network, without traversal.
      * <p>
-     * This is a simplified heuristic - real values would need Create's
-     * stress configuration data.
-     */
-    private static StressContribution estimateBlockStress(final BlockEntity be) {
-        // TODO: Implement proper stress estimation based on block type
-        // For now, return placeholder values
-        
-        final String blockName = be.getBlockState().getBlock().getDescriptionId();
-        
-        // Simple heuristics (these would need to be calibrated)
-        if (blockName.contains("motor")) {
-            return new StressContribution(0.0, 256.0); // Generator
-        } else if (blockName.contains("fan") || blockName.contains("press")) {
-            return new StressContribution(16.0, 0.0); // Consumer
-        } else if (blockName.contains("furnace")) {
-            return new StressContribution(32.0, 0.0); // Heavy consumer
-        } else {
-            return new StressContribution(0.0, 0.0); // Passive (shaft, cogwheel)
-        }
-    }
-    
-    /**
-     * Stress contribution record.
-     */
-    private record StressContribution(double consumption, double capacity) {}
-    
+     * A block not yet seen in any measured network is attached through its
+     * linked neighbours first, so a newly placed connecting shaft merges the
+     * networks it joins. Client thread only.
+     */
+    public static boolean sameNetwork(final Level level, final BlockPos a, final BlockPos b) {
+        syncLevel(level);
+        return MEMBERSHIP.attach(level, a) && MEMBERSHIP.sameNetwork(a.asLong(), b.asLong());
+    }
+
+    /**
+     * Whether two blocks belong to the same cached complete result. Unlike
+     * {@link #sameNetwork}, never stale: cached results are dropped on
+     * changes or expire. Client thread only.
+     */
+    public static boolean sameCachedNetwork(final Level level, final BlockPos a, final BlockPos b, final long currentTick) {
+        syncLevel(level);
+        return CACHE.sameEntry(a.asLong(), b.asLong(), currentTick);
+    }
+
+    /**
+     * Cached complete estimate of the network containing {@code pos}.
+     * <p>
+     * Moves the latest complete published result into the cache first.
+     * Client thread only.
+     *
+     * @param level Level the position belongs to
+     * @param pos Any block position of the network
+     * @param currentTick Current game tick
+     * @param ttlTicks Lifetime of newly cached results (ignored for complete
+     *                 results on levels that report changes, which live until
+     *                 invalidated)
+     * @return Cached estimate (speed is the measured origin's), or null
+     */
+    @Nullable
+    public static KineticData cached(
+        final Level level,
+        final BlockPos pos,
+        final long currentTick,
+        final int ttlTicks
+    ) {
+        syncLevel(level);
+        if (!ClientChangeHooks.tracked(level) && currentTick >= membershipExpiry) {
+            // Unreported changes may have split known networks
+            MEMBERSHIP.clear();
+            membershipExpiry = currentTick + ttlTicks;
+        }
+        final Published p = PUBLISHED.get();
+        if (p != lastCached) {
+            lastCached = p;
+            if (p != null && p.members() != null) {
+                if (MEMBERSHIP.size() + p.members().length > MEMBERSHIP_MAX_BLOCKS) {
+                    MEMBERSHIP.clear();
+                }
+                MEMBERSHIP.addNetwork(p.members());
+                // Capped or truncated results miss blocks whose changes would not drop them
+                final boolean current = ClientChangeHooks.tracked(level) && p.epoch() == epoch && !p.data().nodesApproximate();
+                CACHE.put(p.members(), p.data(), currentTick, current ? TRACKED_TTL_TICKS : ttlTicks);
+            }
+        }
+        return CACHE.get(pos.asLong(), currentTick);
+    }
+
+    /**
+     * Member positions of the cached network containing {@code pos}, as
+     * collected by its traversal. A new array means a new result. Client
+     * thread only.
+     *
+     * @return Read-only member positions, or null if the network is not cached
+     * @see #cached
+     */
+    @Nullable
+    public static long[] members(
+        final Level level,
+        final BlockPos pos,
+        final long currentTick,
+        final int ttlTicks
+    ) {
+        return (cached(level, pos, currentTick, ttlTicks) != null) ? CACHE.keysOf(pos.asLong()) : null;
+    }
+
+    /**
+     * @return Network membership index (client thread only; for statistics)
+     */
+    public static NetworkMembership membership() {
+        return MEMBERSHIP;
+    }
+
+    /**
+     * Drop per-level client state when the level changes.
+     */
+    private static void syncLevel(final Level level) {
+        if (level != cacheLevel) {
+            CACHE.clear();
+            MEMBERSHIP.clear();
+            membershipExpiry = 0;
+            cacheLevel = level;
+        }
+    }
+
+    /**
+     * @return Network result cache (client thread only; for statistics)
+     */
+    public static LruCache<KineticData> resultCache() {
+        return CACHE;
+    }
+
+    /**
+     * Publish an estimate for a target. Safe to call from any thread.
+     *
+     * @param origin Packed target position
+     * @param members Member positions of a complete result (ownership passes
+     *                to the cache), or null for partial results
+     * @param epoch {@link #epoch()} when the estimate was requested
+     */
+    static void publish(final long origin, final KineticData data, @Nullable final long[] members, final int epoch) {
+        PUBLISHED.set(new Published(origin, data, members, epoch));
+    }
+
+    /**
+     * @return true if every change to {@code level} bumps the {@link #epoch}
+     *         (client thread only)
+     */
+    static boolean tracking(final Level level) {
+        return level == cacheLevel && ClientChangeHooks.tracked(level);
+    }
+
+    /**
+     * @return Change counter to pass back to {@link #publish} (client thread only)
+     */
+    static int epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return Peak scratch memory of the calling thread's traversal, in bytes
+     */
+    public static long peakMemoryBytes() {
+        return TRAVERSAL.get().peakMemoryBytes();
+    }
+
+    /**
+     * Stress consumption of a block at its current speed.
+     */
+    static double blockConsumption(final BlockEntity be) {
+        return StressTable.impact(be.getBlockState().getBlock()) * Math.abs(CreateAccess.speed(be));
+    }
+
+    /**
+     * Stress capacity added by a block at its current speed.
+     */
+    static double blockCapacity(final BlockEntity be) {
+        return StressTable.capacity(be.getBlockState().getBlock()) * Math.abs(CreateAccess.speed(be));
+    }
+
+    private record Published(long origin, KineticData data, @Nullable long[] members, int epoch) {}
+
     private NetworkEstimator() {
         throw new UnsupportedOperationException("Utility class");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.util.LongIntMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set index of which kinetic network each known block belongs to.
+ * <p>
+ * Packed positions map to dense node ids through a {@link LongIntMap}; the
+ * forest itself is two primitive arrays ({@code int} parent, {@code byte}
+ * rank), roughly 30 bytes per block. {@link #find} uses path halving and
+ * {@link #union} union by rank, so both are near-constant time. Measured
+ * networks are merged in with {@link #addNetwork}; a newly placed block that
+ * links known networks is joined with {@link #attach}, a single union per
+ * linked neighbour instead of a re-scan.
+ * <p>
+ * Union-find cannot split sets: a broken shaft leaves both halves in one
+ * network until the index is cleared, so the owner must clear it whenever a
+ * known block changes. Not thread-safe; client thread only.
+ */
+public final class NetworkMembership {
+
+    /** Returned by {@link #networkId} for unknown positions. */
+    public static final int UNKNOWN = -1;
+
+    private final LongIntMap index;
+    private final BlockPos.MutableBlockPos neighbor = new BlockPos.MutableBlockPos();
+    private int[] parent;
+    private byte[] rank;
+    private int size;
+
+    /**
+     * @param expectedBlocks Number of blocks to hold before the first resize
+     */
+    public NetworkMembership(final int expectedBlocks) {
+        index = new LongIntMap(expectedBlocks);
+        parent = new int[Math.max(16, expectedBlocks)];
+        rank = new byte[parent.length];
+    }
+
+    /**
+     * Merge all positions of a measured network into one set.
+     *
+     * @param members Packed positions of the network
+     */
+    public void addNetwork(final long[] members) {
+        if (members.length == 0) {
+            return;
+        }
+        final int first = node(members[0]);
+        for (int i = 1; i < members.length; i++) {
+            union(first, node(members[i]));
+        }
+    }
+
+    /**
+     * Join a kinetic block to the known networks it links to, merging them
+     * if it connects several. Does nothing if no linked neighbour is known.
+     *
+     * @return true if the block now belongs to a known network
+     */
+    public boolean attach(final Level level, final BlockPos pos) {
+        final long packed = pos.asLong();
+        if (index.containsKey(packed)) {
+            return true;
+        }
+        final int from = rulesAt(level, pos);
+        if (from == KineticView.NONE) {
+            return false;
+        }
+
+        final int candidates = KineticLinks.candidates(from);
+        int self = UNKNOWN;
+        for (int d = 0; d < KineticLinks.DELTAS; d++) {
+            if ((candidates & (1 << d)) == 0) {
+                continue;
+            }
+            neighbor.set(pos.getX() + KineticLinks.DX[d], pos.getY() + KineticLinks.DY[d], pos.getZ() + KineticLinks.DZ[d]);
+            final int other = index.get(neighbor.asLong());
+            if (other == LongIntMap.MISSING || !KineticLinks.linked(from, rulesAt(level, neighbor), d)) {
+                continue;
+            }
+            if (self == UNKNOWN) {
+                self = node(packed);
+            }
+            union(self, other);
+        }
+        return self != UNKNOWN;
+    }
+
+    /**
+     * @return Current id of the network containing {@code pos}, or {@link #UNKNOWN}.
+     *         Ids are only stable until the next union.
+     */
+    public int networkId(final long pos) {
+        final int n = index.get(pos);
+        return (n == LongIntMap.MISSING) ? UNKNOWN : find(n);
+    }
+
+    /**
+     * @return true if both positions are known and in the same network
+     */
+    public boolean sameNetwork(final long a, final long b) {
+        final int ra = networkId(a);
+        return ra != UNKNOWN && ra == networkId(b);
+    }
+
+    /**
+     * Merge the networks containing two known positions.
+     */
+    public void union(final long a, final long b) {
+        union(node(a), node(b));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        index.clear();
+        size = 0;
+    }
+
+    /**
+     * @return Bytes held by the backing arrays
+     */
+    public long memoryBytes() {
+        return index.memoryBytes() + parent.length * (long) Integer.BYTES + rank.length;
+    }
+
+    private int node(final long pos) {
+        final int existing = index.get(pos);
+        if (existing != LongIntMap.MISSING) {
+            return existing;
+        }
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, size << 1);
+            rank = Arrays.copyOf(rank, size << 1);
+        }
+        final int n = size++;
+        parent[n] = n;
+        rank[n] = 0;
+        index.put(pos, n);
+        return n;
+    }
+
+    private int find(int n) {
+        while (parent[n] != n) {
+            parent[n] = parent[parent[n]]; // Path halving
+            n = parent[n];
+        }
+        return n;
+    }
+
+    private void union(final int a, final int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return;
+        }
+        if (rank[ra] < rank[rb]) {
+            final int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        if (rank[ra] == rank[rb]) {
+            rank[ra]++;
+        }
+    }
+
+    private static int rulesAt(final Level level, final BlockPos pos) {
+        final BlockEntity be = level.getBlockEntity(pos);
+        return CreateAccess.isKinetic(be) ? KineticLinks.rules(be.getBlockState(), level, be.getBlockPos()) : KineticView.NONE;
+    }
+}
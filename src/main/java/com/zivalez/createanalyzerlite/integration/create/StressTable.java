@@ -0,0 +1,123 @@
+package com.zivalez.createanalyzerlite.integration.create;
+
+import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.level.block.Block;
+
+import javax.annotation.Nullable;
+
+/**
+ * Per-block kinetic role, stress impact and generator capacity.
+ * <p>
+ * Built once from Create's configured stress values and indexed by block
+ * registry id, so a per-node lookup is an id lookup plus array reads. Values
+ * are per RPM, as in Create; callers multiply by the block's speed. The table
+ * is invalidated on resource reload and on login (when Create's server config
+ * arrives) and rebuilt on next use. Without Create's stress API, a one-off
+ * name heuristic fills the table instead.
+ * <p>
+ * Build and lookups happen on the client thread; a finished table is
+ * immutable and published through a volatile field.
+ */
+public final class StressTable {
+
+    private static final KineticRole[] ROLES = KineticRole.values();
+
+    @Nullable
+    private static volatile Table table;
+
+    /**
+     * Drop the current table; the next lookup rebuilds it.
+     */
+    public static void invalidate() {
+        table = null;
+    }
+
+    public static KineticRole role(final Block block) {
+        final Table t = table();
+        final int id = BuiltInRegistries.BLOCK.getId(block);
+        return (id >= 0 && id < t.roles().length) ? ROLES[t.roles()[id]] : KineticRole.NONE;
+    }
+
+    /**
+     * @return Stress impact per RPM while rotating
+     */
+    public static float impact(final Block block) {
+        final Table t = table();
+        final int id = BuiltInRegistries.BLOCK.getId(block);
+        return (id >= 0 && id < t.impact().length) ? t.impact()[id] : 0.0f;
+    }
+
+    /**
+     * @return Stress capacity per RPM added while rotating
+     */
+    public static float capacity(final Block block) {
+        final Table t = table();
+        final int id = BuiltInRegistries.BLOCK.getId(block);
+        return (id >= 0 && id < t.capacity().length) ? t.capacity()[id] : 0.0f;
+    }
+
+    private static Table table() {
+        Table t = table;
+        if (t == null) {
+            t = build();
+            table = t;
+        }
+        return t;
+    }
+
+    private static Table build() {
+        final int size = BuiltInRegistries.BLOCK.size();
+        final byte[] roles = new byte[size];
+        final float[] impact = new float[size];
+        final float[] capacity = new float[size];
+        final boolean configured = CreateAccess.hasStressValues();
+
+        int kinetic = 0;
+        for (final Block block : BuiltInRegistries.BLOCK) {
+            if (!CreateAccess.isRotating(block)) {
+                continue;
+            }
+            final int id = BuiltInRegistries.BLOCK.getId(block);
+            final float blockImpact = (float) (configured ? CreateAccess.stressImpact(block) : guessImpact(block));
+            final float blockCapacity = (float) (configured ? CreateAccess.stressCapacity(block) : guessCapacity(block));
+            impact[id] = blockImpact;
+            capacity[id] = blockCapacity;
+            final KineticRole role = (blockCapacity > 0.0f) ? KineticRole.GENERATOR
+                : (blockImpact > 0.0f) ? KineticRole.CONSUMER
+                : KineticRole.TRANSMISSION;
+            roles[id] = (byte) role.ordinal();
+            kinetic++;
+        }
+
+        CreateAnalyzerLite.LOGGER.debug("Stress table built: {} kinetic blocks ({})",
+            kinetic, configured ? "Create stress config" : "name heuristic");
+        return new Table(roles, impact, capacity);
+    }
+
+    /**
+     * Rough impact per RPM by block name; only used without Create's stress API.
+     */
+    private static double guessImpact(final Block block) {
+        final String name = block.getDescriptionId();
+        if (name.contains("fan") || name.contains("press")) {
+            return 2.0;
+        } else if (name.contains("furnace")) {
+            return 4.0;
+        }
+        return 0.0;
+    }
+
+    /**
+     * Rough capacity per RPM by block name; only used without Create's stress API.
+     */
+    private static double guessCapacity(final Block block) {
+        return block.getDescriptionId().contains("motor") ? 8.0 : 0.0;
+    }
+
+    private record Table(byte[] roles, float[] impact, float[] capacity) {}
+
+    private StressTable() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
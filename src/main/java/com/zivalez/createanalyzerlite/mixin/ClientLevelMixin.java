@@ -0,0 +1,28 @@
+package com.zivalez.createanalyzerlite.mixin;
+
+import com.zivalez.createanalyzerlite.platform.ClientChangeHooks;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports client block state changes (server updates and local predictions).
+ */
+@Mixin(ClientLevel.class)
+public abstract class ClientLevelMixin {
+
+    @Inject(method = "sendBlockUpdated", at = @At("HEAD"))
+    private void createanalyzerlite$blockChanged(
+        final BlockPos pos,
+        final BlockState oldState,
+        final BlockState newState,
+        final int flags,
+        final CallbackInfo ci
+    ) {
+        ClientChangeHooks.blockChanged((ClientLevel) (Object) this, pos, oldState, newState);
+    }
+}
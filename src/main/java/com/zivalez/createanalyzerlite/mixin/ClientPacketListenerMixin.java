@@ -0,0 +1,27 @@
+package com.zivalez.createanalyzerlite.mixin;
+
+import com.zivalez.createanalyzerlite.platform.ClientChangeHooks;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports block entity data syncs, bracketing the handler so the hook can
+ * compare the block's speed before and after.
+ */
+@Mixin(ClientPacketListener.class)
+public abstract class ClientPacketListenerMixin {
+
+    @Inject(method = "handleBlockEntityData", at = @At("HEAD"))
+    private void createanalyzerlite$beforeBlockEntityData(final ClientboundBlockEntityDataPacket packet, final CallbackInfo ci) {
+        ClientChangeHooks.beforeBlockEntityData(packet.getPos());
+    }
+
+    @Inject(method = "handleBlockEntityData", at = @At("TAIL"))
+    private void createanalyzerlite$afterBlockEntityData(final ClientboundBlockEntityDataPacket packet, final CallbackInfo ci) {
+        ClientChangeHooks.afterBlockEntityData(packet.getPos());
+    }
+}
@@ -0,0 +1,132 @@
+package com.zivalez.createanalyzerlite.platform;
+
+import com.zivalez.createanalyzerlite.integration.create.CreateAccess;
+import com.zivalez.createanalyzerlite.integration.create.CreatePresent;
+import com.zivalez.createanalyzerlite.integration.create.KineticIndex;
+import com.zivalez.createanalyzerlite.integration.create.NetworkEstimator;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+
+import javax.annotation.Nullable;
+
+/**
+ * Client-side change notifications that invalidate cached network results.
+ * <p>
+ * Block state changes come from the {@code ClientLevel} mixin, block entity
+ * data syncs from the {@code ClientPacketListener} mixin, and chunk loads and
+ * unloads from {@link ChunkEvent}. A data sync only counts if the block's
+ * speed changed, the one synced value estimates depend on. Everything is
+ * forwarded to {@link NetworkEstimator}; block and chunk changes also keep
+ * the {@link KineticIndex} current.
+ * <p>
+ * A level counts as {@link #tracked} only once the block change hook has
+ * fired for it: if another mod or a signature change keeps the mixin's
+ * injection from landing, nothing may trust that changes are reported.
+ * Client thread only.
+ */
+public final class ClientChangeHooks {
+
+    // Speed before the block entity data packet being handled, or NaN.
+    // Only read and written on the client thread.
+    private static float speedBefore = Float.NaN;
+
+    // Last level the block change hook fired for
+    @Nullable
+    private static Level hooked;
+
+    /**
+     * @return true if block changes in {@code level} are known to be reported
+     */
+    public static boolean tracked(@Nullable final Level level) {
+        return level != null && level == hooked;
+    }
+
+    /**
+     * Forget the tracked level (e.g. on disconnect).
+     */
+    static void clear() {
+        hooked = null;
+    }
+
+    /**
+     * A block state changed in a client level.
+     */
+    public static void blockChanged(final Level level, final BlockPos pos, final BlockState oldState, final BlockState newState) {
+        hooked = level;
+        if (CreatePresent.isLoaded()) {
+            if (oldState.hasBlockEntity() || newState.hasBlockEntity()) {
+                KineticIndex.blockChanged(level, pos);
+            }
+            NetworkEstimator.blockChanged(level, pos, oldState, newState);
+        }
+    }
+
+    /**
+     * Block entity data for {@code pos} is about to be applied. Also called
+     * first on the network thread, before the packet is handed over to the
+     * client thread; that call does nothing.
+     */
+    public static void beforeBlockEntityData(final BlockPos pos) {
+        if (Minecraft.getInstance().isSameThread()) {
+            speedBefore = speedAt(pos);
+        }
+    }
+
+    /**
+     * Block entity data for {@code pos} was applied.
+     */
+    public static void afterBlockEntityData(final BlockPos pos) {
+        if (!Minecraft.getInstance().isSameThread()) {
+            return;
+        }
+        final float before = speedBefore;
+        speedBefore = Float.NaN;
+        if (Float.isNaN(before)) {
+            return;
+        }
+        final float after = speedAt(pos);
+        if (after != before) {
+            NetworkEstimator.speedChanged(Minecraft.getInstance().level, pos);
+        }
+    }
+
+    static void onChunkLoad(final ChunkEvent.Load event) {
+        if (event.getLevel() instanceof Level level && level.isClientSide() && event.getChunk() instanceof LevelChunk chunk
+            && CreatePresent.isLoaded()) {
+            KineticIndex.chunkLoaded(level, chunk);
+        }
+        chunkChanged(event.getLevel(), event.getChunk().getPos().x, event.getChunk().getPos().z, true);
+    }
+
+    static void onChunkUnload(final ChunkEvent.Unload event) {
+        chunkChanged(event.getLevel(), event.getChunk().getPos().x, event.getChunk().getPos().z, false);
+    }
+
+    private static void chunkChanged(final LevelAccessor accessor, final int chunkX, final int chunkZ, final boolean loaded) {
+        if (accessor.isClientSide() && accessor instanceof Level level && CreatePresent.isLoaded()) {
+            if (!loaded) {
+                KineticIndex.chunkUnloaded(level, chunkX, chunkZ);
+            }
+            NetworkEstimator.chunkChanged(level, chunkX, chunkZ, loaded);
+        }
+    }
+
+    private static float speedAt(final BlockPos pos) {
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null || !CreatePresent.isLoaded()) {
+            return Float.NaN;
+        }
+        final BlockEntity be = mc.level.getBlockEntity(pos);
+        return CreateAccess.isKinetic(be) ? CreateAccess.speed(be) : Float.NaN;
+    }
+
+    private ClientChangeHooks() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+}
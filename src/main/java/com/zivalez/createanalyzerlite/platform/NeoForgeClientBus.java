@@ -1,12 +1,30 @@
 package com.zivalez.createanalyzerlite.platform;
 
 import com.zivalez.createanalyzerlite.CreateAnalyzerLite;
+import com.zivalez.createanalyzerlite.config.ConfigData;
+import com.zivalez.createanalyzerlite.config.ConfigSnapshot;
+import com.zivalez.createanalyzerlite.diagnostics.FrameGovernor;
+import com.zivalez.createanalyzerlite.diagnostics.Stage;
+import com.zivalez.createanalyzerlite.diagnostics.StageProfiler;
+import com.zivalez.createanalyzerlite.history.MetricsHistory;
 import com.zivalez.createanalyzerlite.input.Keybinds;
+import com.zivalez.createanalyzerlite.hud.NetworkHeatmap;
 import com.zivalez.createanalyzerlite.hud.OverlayRenderer;
+import com.zivalez.createanalyzerlite.hud.Watchlist;
+import com.zivalez.createanalyzerlite.hud.WorldLabels;
+import com.zivalez.createanalyzerlite.integration.create.KineticIndex;
+import com.zivalez.createanalyzerlite.integration.create.NetworkEstimator;
+import com.zivalez.createanalyzerlite.integration.create.StressTable;
+import net.minecraft.client.Minecraft;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.neoforged.bus.api.IEventBus;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
 import net.neoforged.neoforge.client.event.RegisterKeyMappingsEvent;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
 /**
  * NeoForge client-side event bus registration.
@@ -16,6 +34,9 @@ public final class NeoForgeClientBus {
     public static void register(final IEventBus modBus) {
         modBus.addListener(NeoForgeClientBus::onClientSetup);
         modBus.addListener(NeoForgeClientBus::onRegisterKeyMappings);
+        modBus.addListener(NeoForgeClientBus::onRegisterReloadListeners);
+        modBus.addListener(ModConfigEvent.Loading.class, ConfigSnapshot::onConfigEvent);
+        modBus.addListener(ModConfigEvent.Reloading.class, ConfigSnapshot::onConfigEvent);
     }
     
     private static void onClientSetup(final FMLClientSetupEvent event) {
@@ -23,6 +44,57 @@ public final class NeoForgeClientBus {
         
         // Register overlay renderer to NeoForge event bus
         NeoForge.EVENT_BUS.register(OverlayRenderer.class);
+        NeoForge.EVENT_BUS.addListener(WorldLabels::onRenderLevel);
+        NeoForge.EVENT_BUS.addListener(NetworkHeatmap::onRenderLevel);
+
+        // Time-sliced network estimation
+        NeoForge.EVENT_BUS.addListener(NeoForgeClientBus::onClientLevelTickEnd);
+
+        // Create's stress config arrives with the server's configs
+        NeoForge.EVENT_BUS.addListener(NeoForgeClientBus::onLoggingIn);
+        NeoForge.EVENT_BUS.addListener(NeoForgeClientBus::onLoggingOut);
+
+        // Cached networks are dropped when their chunks change
+        NeoForge.EVENT_BUS.addListener(ClientChangeHooks::onChunkLoad);
+        NeoForge.EVENT_BUS.addListener(ClientChangeHooks::onChunkUnload);
+    }
+
+    private static void onRegisterReloadListeners(final RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> {
+            StressTable.invalidate();
+            OverlayRenderer.invalidatePanel();
+        });
+    }
+
+    private static void onLoggingIn(final ClientPlayerNetworkEvent.LoggingIn event) {
+        StressTable.invalidate();
+        MetricsHistory.open(Minecraft.getInstance());
+    }
+
+    private static void onLoggingOut(final ClientPlayerNetworkEvent.LoggingOut event) {
+        MetricsHistory.close();
+        ClientChangeHooks.clear();
+    }
+
+    private static void onClientLevelTickEnd(final LevelTickEvent.Post event) {
+        if (!event.getLevel().isClientSide()) {
+            return;
+        }
+        ConfigSnapshot.tick();
+        final long costStart = System.nanoTime();
+        final ConfigData config = FrameGovernor.config();
+        KineticIndex.tick(event.getLevel());
+        final long bfsStart = StageProfiler.start();
+        NetworkEstimator.tick(event.getLevel(), config);
+        StageProfiler.end(Stage.BFS, bfsStart);
+        // Estimate requests time themselves as BFS
+        Watchlist.tick(event.getLevel(), config);
+        final long worldStart = StageProfiler.start();
+        WorldLabels.tick(event.getLevel(), config);
+        StageProfiler.end(Stage.WORLD, worldStart);
+        // Times its own gathering as World and its requests as BFS
+        NetworkHeatmap.tick(event.getLevel(), config);
+        FrameGovernor.addCost(System.nanoTime() - costStart);
     }
     
     private static void onRegisterKeyMappings(final RegisterKeyMappingsEvent event) {
@@ -1,6 +1,8 @@
 package com.zivalez.createanalyzerlite.probe;
 
+import com.zivalez.createanalyzerlite.integration.create.CreateAccess;
 import com.zivalez.createanalyzerlite.integration.create.CreatePresent;
+import com.zivalez.createanalyzerlite.integration.create.KineticIndex;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -16,8 +18,6 @@ import javax.annotation.Nullable;
  */
 public final class TargetSelector {
     
-    private static final String KINETIC_BE_CLASS = "com.simibubi.create.content.kinetics.base.KineticBlockEntity";
-    
     private static final double MAX_REACH_DISTANCE = 20.0; // blocks
     
     /**
@@ -50,6 +50,11 @@ public final class TargetSelector {
             return null;
         }
         
+        // Looking at a non-kinetic block: skip the block entity lookup
+        if (KineticIndex.ready(mc.level) && !KineticIndex.isKinetic(pos.asLong())) {
+            return null;
+        }
+        
         // Get block entity
         final BlockEntity be = mc.level.getBlockEntity(pos);
         if (be == null) {
@@ -57,25 +62,13 @@ public final class TargetSelector {
         }
         
         // Check if it's a kinetic block
-        if (!isKineticBlock(be)) {
+        if (!CreateAccess.isKinetic(be)) {
             return null;
         }
         
         return be;
     }
     
-    /**
-     * Check if block entity is a Create kinetic block.
-     */
-    private static boolean isKineticBlock(final BlockEntity be) {
-        try {
-            final Class<?> kineticClass = Class.forName(KINETIC_BE_CLASS);
-            return kineticClass.isInstance(be);
-        } catch (final ClassNotFoundException e) {
-            return false;
-        }
-    }
-    
     private TargetSelector() {
         throw new UnsupportedOperationException("Utility class");
     }
@@ -0,0 +1,54 @@
+package com.zivalez.createanalyzerlite.util;
+
+/**
+ * Change-driven sampling interval with exponential back-off.
+ * <p>
+ * Each sample reports whether its value moved since the previous one. While
+ * nothing changes the interval doubles, from the minimum up to the maximum;
+ * a change snaps it back to the minimum. {@link #reset} (e.g. on a new
+ * target) makes the next check due at once. Bounds are passed on every call,
+ * so config edits apply immediately. Not thread-safe.
+ */
+public final class AdaptiveSampler {
+
+    private int interval;
+    private long lastTick;
+    private boolean sampled;
+
+    /**
+     * @return true if a sample should be taken at {@code now}
+     */
+    public boolean due(final long now, final int minTicks, final int maxTicks) {
+        return !sampled || now - lastTick >= clamp(interval, minTicks, maxTicks);
+    }
+
+    /**
+     * Record a sample taken at {@code now}.
+     *
+     * @param changed Whether the sampled value differs from the previous sample
+     */
+    public void sampled(final long now, final boolean changed, final int minTicks, final int maxTicks) {
+        interval = changed ? minTicks : clamp((int) Math.min(Integer.MAX_VALUE, interval * 2L), minTicks, maxTicks);
+        lastTick = now;
+        sampled = true;
+    }
+
+    /**
+     * Sample again at the next check and start over at the minimum interval.
+     */
+    public void reset() {
+        sampled = false;
+        interval = 0;
+    }
+
+    /**
+     * @return Current interval in ticks (before clamping to the bounds)
+     */
+    public int interval() {
+        return interval;
+    }
+
+    private static int clamp(final int v, final int min, final int max) {
+        return Math.max(min, Math.min(Math.max(min, max), v));
+    }
+}
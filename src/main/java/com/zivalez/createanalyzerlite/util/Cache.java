@@ -1,16 +1,20 @@
 package com.zivalez.createanalyzerlite.util;
 
+import com.zivalez.createanalyzerlite.diagnostics.CacheEvent;
+
 import javax.annotation.Nullable;
 
 /**
  * Simple TTL (time-to-live) cache for single values.
  * <p>
- * Thread-safe for single-threaded client use.
+ * Thread-safe for single-threaded client use. Lookups are reported as JFR
+ * {@link CacheEvent}s (key 0) under the cache's name.
  * 
  * @param <T> Cached value type
  */
 public final class Cache<T> {
     
+    private final String name;
     private final int ttlTicks;
     
     @Nullable
@@ -21,9 +25,18 @@ public final class Cache<T> {
      * @param ttlTicks Time-to-live in game ticks (20 ticks = 1 second)
      */
     public Cache(final int ttlTicks) {
+        this("single", ttlTicks);
+    }
+    
+    /**
+     * @param name Name shown in JFR cache events
+     * @param ttlTicks Time-to-live in game ticks (20 ticks = 1 second)
+     */
+    public Cache(final String name, final int ttlTicks) {
         if (ttlTicks < 1) {
             throw new IllegalArgumentException("TTL must be >= 1 tick");
         }
+        this.name = name;
         this.ttlTicks = ttlTicks;
         this.expiryTick = -1;
     }
@@ -37,8 +50,10 @@ public final class Cache<T> {
     @Nullable
     public T get(final long currentTick) {
         if (currentTick < expiryTick) {
+            CacheEvent.emit(name, CacheEvent.HIT, 0L, 1);
             return value;
         }
+        CacheEvent.emit(name, expiryTick < 0 ? CacheEvent.MISS : CacheEvent.EXPIRED, 0L, 0);
         return null;
     }
     
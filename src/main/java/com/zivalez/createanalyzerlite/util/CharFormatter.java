@@ -0,0 +1,212 @@
+package com.zivalez.createanalyzerlite.util;
+
+import java.util.Arrays;
+
+/**
+ * Reusable character buffer with allocation-free number formatting.
+ * <p>
+ * Digits, signs, decimal places and K/M/B suffixes are written straight into
+ * a growable {@code char[]}, so a formatter kept between frames produces no
+ * garbage once its buffer is large enough. Rounding is half-up on the
+ * shortest decimal form of the value, as {@code String.format} does, so fixed
+ * decimals match {@code %.Nf} up to 15 significant digits, except that zero
+ * is never signed.
+ * {@link #toString()} and {@link #subSequence} allocate; everything else does
+ * not. Not thread-safe.
+ */
+public final class CharFormatter implements CharSequence {
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    /** Above this magnitude fixed-point scaling could overflow a long. */
+    private static final double MAX_FIXED = 1e12;
+    /** Scaled values below this have ties of at most 15 digits, which are exact decimals of their double. */
+    private static final double MAX_EXACT_TIE = 1e14;
+
+    private char[] buf;
+    private int len;
+
+    /**
+     * @param capacity Initial buffer size in chars
+     */
+    public CharFormatter(final int capacity) {
+        buf = new char[Math.max(8, capacity)];
+    }
+
+    public CharFormatter clear() {
+        len = 0;
+        return this;
+    }
+
+    public CharFormatter append(final char c) {
+        ensure(len + 1);
+        buf[len++] = c;
+        return this;
+    }
+
+    public CharFormatter append(final String s) {
+        final int n = s.length();
+        ensure(len + n);
+        s.getChars(0, n, buf, len);
+        len += n;
+        return this;
+    }
+
+    /**
+     * Append a whole number in decimal.
+     */
+    public CharFormatter append(final long value) {
+        if (value == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        long v = value;
+        if (v < 0) {
+            append('-');
+            v = -v;
+        }
+        final int digits = digits(v);
+        ensure(len + digits);
+        for (int i = len + digits - 1; i >= len; i--) {
+            buf[i] = (char) ('0' + (v % 10));
+            v /= 10;
+        }
+        len += digits;
+        return this;
+    }
+
+    /**
+     * @return true if {@link #appendFixed} prints the digits of {@code value}:
+     *         finite, below 10^12 in magnitude, with 0 to 6 decimals
+     */
+    public static boolean fitsFixed(final double value, final int decimals) {
+        return decimals >= 0 && decimals < POW10.length && Math.abs(value) < MAX_FIXED;
+    }
+
+    /**
+     * Append a number with a fixed number of decimals, e.g. {@code 12.5}.
+     * A value that rounds to zero never gets a minus sign; infinite values and
+     * those outside {@link #fitsFixed} print as a signed {@code ∞}.
+     *
+     * @param decimals Decimal places, 0 to 6
+     */
+    public CharFormatter appendFixed(final double value, final int decimals) {
+        if (decimals < 0 || decimals >= POW10.length) {
+            throw new IllegalArgumentException("decimals must be 0.." + (POW10.length - 1));
+        }
+        if (Double.isNaN(value)) {
+            return append("NaN");
+        }
+        final double abs = Math.abs(value);
+        if (Double.isInfinite(value) || abs >= MAX_FIXED) {
+            return append(value < 0 ? '-' : '+').append('∞');
+        }
+        final long scale = POW10[decimals];
+        final long scaled = roundHalfUp(abs, scale);
+        if (value < 0 && scaled != 0) {
+            append('-');
+        }
+        append(scaled / scale);
+        if (decimals > 0) {
+            append('.');
+            final long fraction = scaled % scale;
+            for (long p = scale / 10; p > 0; p /= 10) {
+                append((char) ('0' + (fraction / p) % 10));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append a number with K/M/B suffix, e.g. {@code 1.5K}; below 1000 as a
+     * whole number.
+     */
+    public CharFormatter appendCompact(final double value) {
+        final double abs = Math.abs(value);
+        if (abs >= 1_000_000_000) {
+            return appendFixed(value / 1_000_000_000, 1).append('B');
+        } else if (abs >= 1_000_000) {
+            return appendFixed(value / 1_000_000, 1).append('M');
+        } else if (abs >= 1_000) {
+            return appendFixed(value / 1_000, 1).append('K');
+        }
+        return appendFixed(value, 0);
+    }
+
+    /**
+     * Append a ratio as a whole percentage, e.g. {@code 0.42} as {@code 42%}.
+     */
+    public CharFormatter appendPercent(final double ratio) {
+        return appendFixed(ratio * 100, 0).append('%');
+    }
+
+    /**
+     * Append speed with direction symbol, e.g. {@code 12.5 RPM ⟳}.
+     */
+    public CharFormatter appendRpm(final float rpm) {
+        return appendFixed(Math.abs(rpm), 1).append(" RPM ").append(rpm >= 0 ? '⟳' : '⟲');
+    }
+
+    /**
+     * Cut the content to {@code length} chars.
+     */
+    public void setLength(final int length) {
+        if (length < 0 || length > len) {
+            throw new IndexOutOfBoundsException(length);
+        }
+        len = length;
+    }
+
+    @Override
+    public int length() {
+        return len;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= len) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return buf[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return new String(buf, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, len);
+    }
+
+    /**
+     * Round {@code abs * scale} half-up by the decimal value {@code abs}
+     * stands for, not its binary one: 2.675 (stored as 2.67499999...) rounds
+     * to 2.68 at two places, like {@code String.format}, where
+     * {@link Math#round} gives 2.67.
+     */
+    private static long roundHalfUp(final double abs, final long scale) {
+        final double product = abs * scale;
+        if (product >= MAX_EXACT_TIE) {
+            return Math.round(product);
+        }
+        final long down = (long) product;
+        // Double nearest to the halfway decimal; both operands are exact
+        final double tie = (2 * down + 1) / (2.0 * scale);
+        return (abs >= tie) ? down + 1 : down;
+    }
+
+    private void ensure(final int capacity) {
+        if (capacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(capacity, buf.length << 1));
+        }
+    }
+
+    private static int digits(final long v) {
+        int n = 1;
+        for (long p = 10; n < 19 && v >= p; p *= 10) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,68 @@
+package com.zivalez.createanalyzerlite.util;
+
+/**
+ * Fixed-capacity ring of primitive floats that keeps the most recent values.
+ * <p>
+ * Once full, each {@link #add} overwrites the oldest value. The backing array
+ * is allocated once, so memory is {@code 4 * capacity} bytes plus the object
+ * header, known up front. Not thread-safe.
+ */
+public final class FloatRingBuffer {
+
+    private final float[] buffer;
+    private int next;
+    private int size;
+
+    /**
+     * @param capacity Number of values kept
+     */
+    public FloatRingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be >= 1");
+        }
+        buffer = new float[capacity];
+    }
+
+    public void add(final float value) {
+        buffer[next] = value;
+        next = (next + 1 == buffer.length) ? 0 : next + 1;
+        if (size < buffer.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @param index 0 for the oldest kept value, {@code size() - 1} for the newest
+     */
+    public float get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        final int i = next - size + index;
+        return buffer[(i < 0) ? i + buffer.length : i];
+    }
+
+    /**
+     * @return Largest absolute value kept, or 0 if empty
+     */
+    public float maxAbs() {
+        float max = 0.0f;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, Math.abs(get(i)));
+        }
+        return max;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+}
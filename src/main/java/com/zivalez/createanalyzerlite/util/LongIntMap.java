@@ -0,0 +1,161 @@
+package com.zivalez.createanalyzerlite.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive long keys to non-negative int values.
+ * <p>
+ * Linear probing with backward-shift deletion, no per-entry objects. Values
+ * are stored offset by one so an all-zero table means empty; negative values
+ * are not supported.
+ * Not thread-safe, but safe to read from other threads once published.
+ */
+public final class LongIntMap {
+
+    /** Returned by {@link #get} for absent keys. */
+    public static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    /**
+     * @param expectedSize Number of entries to hold before the first resize
+     */
+    public LongIntMap(final int expectedSize) {
+        final int wanted = Math.max(MIN_CAPACITY, expectedSize << 1);
+        allocate(Integer.highestOneBit(wanted - 1) << 1);
+    }
+
+    /**
+     * Insert or replace a mapping.
+     *
+     * @param value Non-negative value
+     */
+    public void put(final long key, final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be >= 0");
+        }
+        if (size >= resizeAt) {
+            grow();
+        }
+        int i = slot(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        size++;
+    }
+
+    /**
+     * @return Mapped value, or {@link #MISSING}
+     */
+    public int get(final long key) {
+        int i = slot(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Remove a mapping.
+     *
+     * @return Previously mapped value, or {@link #MISSING}
+     */
+    public int remove(final long key) {
+        int i = slot(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                final int old = values[i] - 1;
+                closeGap(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public boolean containsKey(final long key) {
+        return get(key) != MISSING;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * @return Bytes held by the backing arrays
+     */
+    public long memoryBytes() {
+        return keys.length * (long) Long.BYTES + values.length * (long) Integer.BYTES;
+    }
+
+    private int slot(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Shift later entries of the probe run back into a freed slot, so lookups
+     * never stop early at a hole.
+     */
+    private void closeGap(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == 0) {
+                break;
+            }
+            // Move only if the gap lies between the entry's home slot and i
+            if (((i - slot(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = 0;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == 0) {
+                continue;
+            }
+            int i = slot(oldKeys[j]);
+            while (values[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >>> 1;
+    }
+}
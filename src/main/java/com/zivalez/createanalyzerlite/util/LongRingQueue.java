@@ -0,0 +1,81 @@
+package com.zivalez.createanalyzerlite.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO queue of primitive longs backed by a power-of-two ring buffer.
+ * <p>
+ * The buffer only grows; {@link #clear()} keeps it for reuse, so a queue
+ * that has reached its working size no longer allocates. Not thread-safe.
+ */
+public final class LongRingQueue {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] buffer;
+    private int mask;
+    private int head;
+    private int size;
+
+    /**
+     * @param expectedSize Number of elements to hold before the first resize
+     */
+    public LongRingQueue(final int expectedSize) {
+        final int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize) - 1) << 1;
+        buffer = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public void add(final long value) {
+        if (size == buffer.length) {
+            grow();
+        }
+        buffer[(head + size) & mask] = value;
+        size++;
+    }
+
+    /**
+     * Remove and return the oldest element.
+     *
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        final long value = buffer[head];
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return Bytes held by the backing buffer
+     */
+    public long memoryBytes() {
+        return buffer.length * (long) Long.BYTES;
+    }
+
+    private void grow() {
+        final long[] next = new long[buffer.length << 1];
+        final int firstPart = buffer.length - head;
+        System.arraycopy(buffer, head, next, 0, firstPart);
+        System.arraycopy(buffer, 0, next, firstPart, head);
+        buffer = next;
+        mask = next.length - 1;
+        head = 0;
+    }
+}
@@ -0,0 +1,330 @@
+package com.zivalez.createanalyzerlite.util;
+
+import com.zivalez.createanalyzerlite.diagnostics.CacheEvent;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Bounded LRU cache where each value is reachable through many primitive keys.
+ * <p>
+ * Built for network results: every packed block position of a network maps to
+ * the same entry, so a lookup from any member is one hash probe. Entries
+ * expire after a tick-based TTL and are evicted least-recently-used first when
+ * either the entry limit or the total key limit is reached. A key that shows
+ * up in a newer entry moves to it and stops counting towards the old one; an
+ * entry left without keys is dropped. Entries can also be dropped on demand
+ * through any of their keys ({@link #invalidate}, {@link #invalidateIf}).
+ * Keeps hit/miss/eviction/invalidation counters.
+ * <p>
+ * Entries live in parallel slot arrays linked into an intrusive recency list,
+ * so lookups allocate nothing. Activity is also reported as JFR
+ * {@link CacheEvent}s under the cache's name. Not thread-safe; client thread only.
+ *
+ * @param <T> Cached value type
+ */
+public final class LruCache<T> {
+
+    private static final int NIL = -1;
+
+    private final String name;
+    private final int maxEntries;
+    private final int maxKeys;
+
+    private final LongIntMap index;
+    private final Object[] values;
+    private final long[][] members;
+    private final int[] liveKeys; // Keys still indexed to the entry
+    private final long[] expiryTick;
+    private final int[] prev;
+    private final int[] next;
+
+    private int head = NIL; // Most recently used
+    private int tail = NIL; // Least recently used
+    private int free;
+    private int entries;
+    private int keys;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maxEntries Maximum number of cached values
+     * @param maxKeys Maximum number of keys across all entries
+     */
+    public LruCache(final int maxEntries, final int maxKeys) {
+        this("lru", maxEntries, maxKeys);
+    }
+
+    /**
+     * @param name Name shown in JFR cache events
+     * @param maxEntries Maximum number of cached values
+     * @param maxKeys Maximum number of keys across all entries
+     */
+    public LruCache(final String name, final int maxEntries, final int maxKeys) {
+        if (maxEntries < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Limits must be >= 1");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxKeys = maxKeys;
+        this.index = new LongIntMap(Math.min(maxKeys, 4096));
+        this.values = new Object[maxEntries];
+        this.members = new long[maxEntries][];
+        this.liveKeys = new int[maxEntries];
+        this.expiryTick = new long[maxEntries];
+        this.prev = new int[maxEntries];
+        this.next = new int[maxEntries];
+        resetFreeList();
+    }
+
+    /**
+     * Look up the entry a key belongs to.
+     *
+     * @param key Packed key
+     * @param currentTick Current game tick
+     * @return Cached value, or null if absent or expired
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T get(final long key, final long currentTick) {
+        final int slot = index.get(key);
+        if (slot == LongIntMap.MISSING) {
+            misses++;
+            CacheEvent.emit(name, CacheEvent.MISS, key, entries);
+            return null;
+        }
+        if (currentTick >= expiryTick[slot]) {
+            remove(slot);
+            misses++;
+            CacheEvent.emit(name, CacheEvent.EXPIRED, key, entries);
+            return null;
+        }
+        if (slot != head) {
+            unlink(slot);
+            linkFirst(slot);
+        }
+        hits++;
+        CacheEvent.emit(name, CacheEvent.HIT, key, entries);
+        return (T) values[slot];
+    }
+
+    /**
+     * All keys of the entry a key belongs to, without counting a lookup or
+     * checking expiry. The array is the one passed to {@link #put} and must
+     * not be modified; it stays the same object while the entry lives.
+     *
+     * @return Entry keys, or null if the key is not cached
+     */
+    @Nullable
+    public long[] keysOf(final long key) {
+        final int slot = index.get(key);
+        return (slot == LongIntMap.MISSING) ? null : members[slot];
+    }
+
+    /**
+     * Whether two keys belong to the same live entry, without counting a
+     * lookup or touching recency.
+     *
+     * @param currentTick Current game tick; expired entries never match
+     */
+    public boolean sameEntry(final long a, final long b, final long currentTick) {
+        final int slot = index.get(a);
+        return slot != LongIntMap.MISSING && index.get(b) == slot && currentTick < expiryTick[slot];
+    }
+
+    /**
+     * Store a value under all of its keys.
+     * <p>
+     * The cache takes ownership of {@code keys}. Values with more keys than
+     * the key limit are not cached.
+     *
+     * @param keys Packed keys that resolve to the value
+     * @param value Value to cache
+     * @param currentTick Current game tick
+     * @param ttlTicks Time-to-live in game ticks
+     */
+    public void put(final long[] keys, final T value, final long currentTick, final int ttlTicks) {
+        if (keys.length == 0 || keys.length > maxKeys) {
+            return;
+        }
+        while (entries == maxEntries) {
+            evictTail();
+        }
+
+        final int slot = free;
+        free = next[slot];
+        values[slot] = value;
+        members[slot] = keys;
+        expiryTick[slot] = currentTick + ttlTicks;
+        linkFirst(slot);
+        entries++;
+
+        int live = 0;
+        for (final long key : keys) {
+            final int previous = index.get(key);
+            if (previous == slot) {
+                continue; // Duplicate key
+            }
+            if (previous != LongIntMap.MISSING) {
+                // Moves from an older entry, which drops it from its count
+                this.keys--;
+                if (--liveKeys[previous] == 0) {
+                    remove(previous);
+                }
+            }
+            index.put(key, slot);
+            live++;
+        }
+        liveKeys[slot] = live;
+        this.keys += live;
+
+        // Only now is it known how many keys were new
+        while (this.keys > maxKeys) {
+            evictTail();
+        }
+    }
+
+    /**
+     * Drop the entry a key belongs to, with all of its keys.
+     *
+     * @return true if an entry was dropped
+     */
+    public boolean invalidate(final long key) {
+        final int slot = index.get(key);
+        if (slot == LongIntMap.MISSING) {
+            return false;
+        }
+        remove(slot);
+        invalidations++;
+        CacheEvent.emit(name, CacheEvent.INVALIDATION, key, entries);
+        return true;
+    }
+
+    /**
+     * Drop every entry that has a key matching {@code test}. Scans all keys
+     * of all entries, stopping per entry at the first match.
+     *
+     * @return Number of entries dropped
+     */
+    public int invalidateIf(final LongPredicate test) {
+        int dropped = 0;
+        int slot = head;
+        while (slot != NIL) {
+            final int following = next[slot];
+            for (final long key : members[slot]) {
+                if (test.test(key)) {
+                    remove(slot);
+                    invalidations++;
+                    dropped++;
+                    CacheEvent.emit(name, CacheEvent.INVALIDATION, key, entries);
+                    break;
+                }
+            }
+            slot = following;
+        }
+        return dropped;
+    }
+
+    /**
+     * Drop all entries. Counters are kept.
+     */
+    public void clear() {
+        index.clear();
+        Arrays.fill(values, null);
+        Arrays.fill(members, null);
+        head = NIL;
+        tail = NIL;
+        entries = 0;
+        keys = 0;
+        resetFreeList();
+    }
+
+    public int size() {
+        return entries;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return Entries removed to make room (expiry is not counted)
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Entries dropped through {@link #invalidate} or {@link #invalidateIf}
+     */
+    public long invalidations() {
+        return invalidations;
+    }
+
+    private void evictTail() {
+        final long evictedKey = members[tail][0];
+        remove(tail);
+        evictions++;
+        CacheEvent.emit(name, CacheEvent.EVICTION, evictedKey, entries);
+    }
+
+    private void remove(final int slot) {
+        for (final long key : members[slot]) {
+            // Keys claimed by a newer entry stay with it
+            if (index.get(key) == slot) {
+                index.remove(key);
+            }
+        }
+        unlink(slot);
+        values[slot] = null;
+        members[slot] = null;
+        next[slot] = free;
+        free = slot;
+        entries--;
+        keys -= liveKeys[slot];
+        liveKeys[slot] = 0;
+    }
+
+    private void linkFirst(final int slot) {
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head != NIL) {
+            prev[head] = slot;
+        }
+        head = slot;
+        if (tail == NIL) {
+            tail = slot;
+        }
+    }
+
+    private void unlink(final int slot) {
+        final int p = prev[slot];
+        final int n = next[slot];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            head = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            tail = p;
+        }
+    }
+
+    private void resetFreeList() {
+        for (int i = 0; i < maxEntries; i++) {
+            next[i] = i + 1;
+        }
+        next[maxEntries - 1] = NIL;
+        free = 0;
+    }
+}
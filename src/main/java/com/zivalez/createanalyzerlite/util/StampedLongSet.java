@@ -0,0 +1,146 @@
+package com.zivalez.createanalyzerlite.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of primitive longs with generation stamps.
+ * <p>
+ * A slot is occupied only if its stamp equals the current generation, so
+ * {@link #clear()} is O(1): it just bumps the generation. Backing arrays are
+ * kept across clears and only grow, which makes steady-state reuse
+ * allocation-free. Not thread-safe.
+ */
+public final class StampedLongSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] stamps;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private int generation = 1;
+
+    /**
+     * @param expectedSize Number of keys to hold before the first resize
+     */
+    public StampedLongSet(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Remove all keys without touching the backing arrays.
+     */
+    public void clear() {
+        size = 0;
+        if (++generation == 0) {
+            // Stamp counter wrapped: old stamps could alias, wipe once
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Add key to set.
+     *
+     * @return true if the key was not present
+     */
+    public boolean add(final long key) {
+        if (size >= resizeAt) {
+            grow();
+        }
+        int i = slot(key);
+        while (stamps[i] == generation) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        stamps[i] = generation;
+        size++;
+        return true;
+    }
+
+    /**
+     * Check if key is present.
+     */
+    public boolean contains(final long key) {
+        int i = slot(key);
+        while (stamps[i] == generation) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copy the current keys into a new array, in table order.
+     */
+    public long[] toArray() {
+        final long[] out = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length && n < size; i++) {
+            if (stamps[i] == generation) {
+                out[n++] = keys[i];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return Number of slots in the table
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return Bytes held by the backing arrays
+     */
+    public long memoryBytes() {
+        return keys.length * (long) Long.BYTES + stamps.length * (long) Integer.BYTES;
+    }
+
+    private int slot(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldStamps = stamps;
+        final int live = generation;
+        allocate(oldKeys.length << 1);
+        generation = 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldStamps[j] != live) {
+                continue;
+            }
+            int i = slot(oldKeys[j]);
+            while (stamps[i] == generation) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            stamps[i] = generation;
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        stamps = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >>> 1; // load factor 0.5
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final int wanted = Math.max(MIN_CAPACITY, expectedSize << 1);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
@@ -1,10 +1,22 @@
 package com.zivalez.createanalyzerlite.util;
 
+import java.util.Locale;
+
 /**
  * Text formatting utilities for overlay UI.
+ * <p>
+ * Number formatting delegates to {@link CharFormatter}; per-frame HUD code
+ * should use a {@link CharFormatter} directly to avoid the result string.
+ * Values outside {@link CharFormatter#fitsFixed} (non-finite, 10^12 and up,
+ * or more than 6 decimals) fall back to {@code String.format}, so every
+ * input still prints its digits. Both paths use {@code .} as the decimal
+ * separator.
  */
 public final class TextUtil {
     
+    /** Per-thread scratch buffer; only the returned string is allocated. */
+    private static final ThreadLocal<CharFormatter> FORMATTER = ThreadLocal.withInitial(() -> new CharFormatter(32));
+    
     /**
      * Format number with K/M/B suffixes.
      * 
@@ -12,17 +24,10 @@ public final class TextUtil {
      * @return Formatted string (e.g., "1.5K", "2.3M")
      */
     public static String formatCompact(final double value) {
-        final double abs = Math.abs(value);
-        
-        if (abs >= 1_000_000_000) {
-            return String.format("%.1fB", value / 1_000_000_000);
-        } else if (abs >= 1_000_000) {
-            return String.format("%.1fM", value / 1_000_000);
-        } else if (abs >= 1_000) {
-            return String.format("%.1fK", value / 1_000);
-        } else {
-            return String.format("%.0f", value);
+        if (!Double.isNaN(value) && !CharFormatter.fitsFixed(value / 1_000_000_000, 1)) {
+            return String.format(Locale.ROOT, "%.1fB", value / 1_000_000_000);
         }
+        return FORMATTER.get().clear().appendCompact(value).toString();
     }
     
     /**
@@ -32,22 +37,30 @@ public final class TextUtil {
      * @return Formatted string with direction symbol
      */
     public static String formatRPM(final float rpm) {
-        final String direction = rpm >= 0 ? "⟳" : "⟲";
-        return String.format("%.1f RPM %s", Math.abs(rpm), direction);
+        if (!CharFormatter.fitsFixed(rpm, 1)) {
+            return String.format(Locale.ROOT, "%.1f RPM %s", Math.abs(rpm), rpm >= 0 ? "⟳" : "⟲");
+        }
+        return FORMATTER.get().clear().appendRpm(rpm).toString();
     }
     
     /**
      * Format percentage.
      */
     public static String formatPercent(final double value) {
-        return String.format("%.0f%%", value * 100);
+        if (!CharFormatter.fitsFixed(value * 100, 0)) {
+            return String.format(Locale.ROOT, "%.0f%%", value * 100);
+        }
+        return FORMATTER.get().clear().appendPercent(value).toString();
     }
     
     /**
      * Format decimal with specified precision.
      */
     public static String formatDecimal(final double value, final int decimals) {
-        return String.format("%%.%df".formatted(decimals), value);
+        if (!CharFormatter.fitsFixed(value, decimals)) {
+            return String.format(Locale.ROOT, "%." + decimals + "f", value);
+        }
+        return FORMATTER.get().clear().appendFixed(value, decimals).toString();
     }
     
     /**
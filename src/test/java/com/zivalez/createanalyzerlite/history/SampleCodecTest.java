@@ -0,0 +1,143 @@
+package com.zivalez.createanalyzerlite.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips through {@link BitWriter}, {@link BitReader} and
+ * {@link SampleCodec}, via the same byte layout the segment files use.
+ */
+class SampleCodecTest {
+
+    @Test
+    void bitsRoundTrip() {
+        final Random random = new Random(42L);
+        final int[] widths = new int[2000];
+        final long[] values = new long[widths.length];
+        final BitWriter out = new BitWriter();
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = random.nextInt(65);
+            values[i] = random.nextLong();
+            out.write(values[i], widths[i]);
+        }
+
+        final BitReader in = reader(out);
+        for (int i = 0; i < widths.length; i++) {
+            final long mask = (widths[i] == 64) ? -1L : (1L << widths[i]) - 1;
+            assertEquals(values[i] & mask, in.read(widths[i]), "value " + i);
+        }
+        assertThrows(IllegalStateException.class, () -> in.read(8));
+    }
+
+    @Test
+    void steadySamplesRoundTrip() {
+        final List<HistorySample> samples = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            samples.add(sample(1_700_000_000L + i, 64.0f, 1024.0f, 1024.0f, 4096.0f, 120));
+        }
+        final BitWriter bits = roundTrip(samples);
+        // Header, the first interval (9 bits), then one bit each for time,
+        // four values and nodes per sample
+        assertEquals(64 + 4 * 32 + 32 + 8 + 255 * 6, bits.bitLength());
+    }
+
+    @Test
+    void changingSamplesRoundTrip() {
+        final Random random = new Random(7L);
+        final long[] jumps = {1, 1, 2, 60, -30, 200, 1000, 3000, 100_000, -100_000, 1, 1};
+        final List<HistorySample> samples = new ArrayList<>();
+        long time = 1_700_000_000L;
+        float speed = 32.0f;
+        int nodes = 10;
+        for (int i = 0; i < 500; i++) {
+            time += jumps[i % jumps.length];
+            if (i % 3 == 0) {
+                speed = -speed;
+            }
+            nodes += (i % 5 == 0) ? random.nextInt(1_000_000) - 500_000 : random.nextInt(21) - 10;
+            samples.add(sample(time, speed, random.nextFloat() * 8192.0f, Float.intBitsToFloat(random.nextInt()),
+                (i % 7 == 0) ? -0.0f : 2048.0f + i, nodes));
+        }
+        samples.add(sample(time + 1, Float.NaN, Float.POSITIVE_INFINITY, Float.MIN_VALUE, Float.MAX_VALUE, Integer.MIN_VALUE));
+        samples.add(sample(time + 2, 0.0f, Float.NEGATIVE_INFINITY, -Float.MIN_VALUE, -Float.MAX_VALUE, Integer.MAX_VALUE));
+        roundTrip(samples);
+    }
+
+    @Test
+    void resetStartsNewBlock() {
+        final SampleCodec codec = new SampleCodec();
+        final BitWriter first = new BitWriter();
+        codec.encode(first, sample(100L, 1.0f, 2.0f, 3.0f, 4.0f, 5));
+        codec.encode(first, sample(101L, 1.5f, 2.0f, 3.0f, 4.0f, 6));
+        codec.reset();
+        final BitWriter second = new BitWriter();
+        codec.encode(second, sample(500L, 8.0f, 7.0f, 6.0f, 5.0f, 4));
+
+        final SampleCodec decoder = new SampleCodec();
+        final HistorySample s = new HistorySample();
+        final BitReader in = reader(first);
+        decoder.decode(in, s);
+        decoder.decode(in, s);
+        assertSample(sample(101L, 1.5f, 2.0f, 3.0f, 4.0f, 6), s);
+        decoder.reset();
+        decoder.decode(reader(second), s);
+        assertSample(sample(500L, 8.0f, 7.0f, 6.0f, 5.0f, 4), s);
+    }
+
+    private static BitWriter roundTrip(final List<HistorySample> samples) {
+        final SampleCodec encoder = new SampleCodec();
+        final BitWriter bits = new BitWriter();
+        for (final HistorySample s : samples) {
+            encoder.encode(bits, s);
+        }
+        final SampleCodec decoder = new SampleCodec();
+        final BitReader in = reader(bits);
+        final HistorySample decoded = new HistorySample();
+        for (final HistorySample s : samples) {
+            decoder.decode(in, decoded);
+            assertSample(s, decoded);
+        }
+        return bits;
+    }
+
+    private static BitReader reader(final BitWriter bits) {
+        // Offset the block like a segment file does
+        final ByteBuffer buf = ByteBuffer.allocate(SegmentLog.HEADER_BYTES + bits.byteLength());
+        buf.position(SegmentLog.HEADER_BYTES);
+        bits.copyTo(buf);
+        final BitReader in = new BitReader();
+        in.reset(buf, SegmentLog.HEADER_BYTES, bits.bitLength());
+        return in;
+    }
+
+    private static HistorySample sample(
+        final long epochSecond, final float speed, final float consumption,
+        final float peak, final float capacity, final int nodes
+    ) {
+        final HistorySample s = new HistorySample();
+        s.epochSecond = epochSecond;
+        s.speed = speed;
+        s.consumption = consumption;
+        s.peakConsumption = peak;
+        s.capacity = capacity;
+        s.nodes = nodes;
+        return s;
+    }
+
+    private static void assertSample(final HistorySample expected, final HistorySample actual) {
+        assertEquals(expected.epochSecond, actual.epochSecond);
+        // Compare bit patterns: NaN and -0.0f must survive unchanged
+        assertEquals(Float.floatToRawIntBits(expected.speed), Float.floatToRawIntBits(actual.speed));
+        assertEquals(Float.floatToRawIntBits(expected.consumption), Float.floatToRawIntBits(actual.consumption));
+        assertEquals(Float.floatToRawIntBits(expected.peakConsumption), Float.floatToRawIntBits(actual.peakConsumption));
+        assertEquals(Float.floatToRawIntBits(expected.capacity), Float.floatToRawIntBits(actual.capacity));
+        assertEquals(expected.nodes, actual.nodes);
+    }
+}
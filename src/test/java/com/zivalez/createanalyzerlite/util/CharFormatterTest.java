@@ -0,0 +1,72 @@
+package com.zivalez.createanalyzerlite.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link CharFormatter#appendFixed} against {@code String.format}, with the
+ * decimal ties where {@link Math#round} on the scaled double goes wrong.
+ */
+class CharFormatterTest {
+
+    private final CharFormatter formatter = new CharFormatter(32);
+
+    @Test
+    void roundsTiesHalfUp() {
+        assertFixed("0.13", 0.125, 2);
+        assertFixed("2.68", 2.675, 2);
+        assertFixed("1.01", 1.005, 2);
+        assertFixed("0.29", 0.285, 2);
+        assertFixed("1.12", 1.115, 2);
+        assertFixed("-2.68", -2.675, 2);
+        assertFixed("3", 2.5, 0);
+        assertFixed("1", 0.5, 0);
+        assertFixed("0.1", 0.05, 1);
+        assertFixed("12.5", 12.45, 1);
+        assertFixed("1.000001", 1.0000005, 6);
+    }
+
+    @Test
+    void matchesStringFormatOnTies() {
+        final Random random = new Random(12345L);
+        for (int i = 0; i < 200_000; i++) {
+            final int decimals = random.nextInt(7);
+            // An odd numerator over 2 * 10^decimals is a tie at that precision
+            final long numerator = 2L * random.nextInt(10_000_000) + 1;
+            final double value = numerator / (2.0 * Math.pow(10, decimals));
+            assertMatchesFormat(random.nextBoolean() ? value : -value, decimals);
+        }
+    }
+
+    @Test
+    void matchesStringFormatOnOtherValues() {
+        final Random random = new Random(54321L);
+        for (int i = 0; i < 200_000; i++) {
+            final int decimals = random.nextInt(7);
+            final double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(8));
+            assertMatchesFormat(value, decimals);
+        }
+    }
+
+    @Test
+    void zeroIsNeverSigned() {
+        assertFixed("0.0", -0.04, 1);
+        assertFixed("0", -0.0, 0);
+    }
+
+    private void assertMatchesFormat(final double value, final int decimals) {
+        String expected = String.format(Locale.ROOT, "%." + decimals + "f", value);
+        if (expected.startsWith("-") && expected.chars().allMatch(c -> c == '-' || c == '0' || c == '.')) {
+            expected = expected.substring(1); // Documented difference: no "-0.0"
+        }
+        assertFixed(expected, value, decimals);
+    }
+
+    private void assertFixed(final String expected, final double value, final int decimals) {
+        assertEquals(expected, formatter.clear().appendFixed(value, decimals).toString(), value + " at " + decimals);
+    }
+}
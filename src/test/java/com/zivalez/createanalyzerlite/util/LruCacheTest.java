@@ -0,0 +1,52 @@
+package com.zivalez.createanalyzerlite.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Key accounting of {@link LruCache} when entries share keys.
+ */
+class LruCacheTest {
+
+    private static final int TTL = 100;
+
+    @Test
+    void sharedKeysCountOnce() {
+        final LruCache<String> cache = new LruCache<>(8, 4);
+        cache.put(new long[] {1, 2}, "a", 0, TTL);
+        cache.put(new long[] {2, 3}, "b", 0, TTL);
+        // Three distinct keys, so one more fits without evicting
+        cache.put(new long[] {5}, "c", 0, TTL);
+
+        assertEquals(0, cache.evictions());
+        assertEquals("a", cache.get(1, 0));
+        assertEquals("b", cache.get(2, 0));
+        assertEquals("c", cache.get(5, 0));
+    }
+
+    @Test
+    void entryWithoutKeysIsDropped() {
+        final LruCache<String> cache = new LruCache<>(8, 16);
+        cache.put(new long[] {1, 2}, "a", 0, TTL);
+        cache.put(new long[] {1, 2, 3}, "b", 0, TTL);
+
+        assertEquals(1, cache.size());
+        assertEquals("b", cache.get(1, 0));
+    }
+
+    @Test
+    void removingNewerEntryKeepsOlderKeys() {
+        final LruCache<String> cache = new LruCache<>(8, 3);
+        cache.put(new long[] {1, 2}, "a", 0, TTL);
+        cache.put(new long[] {2, 3}, "b", 0, TTL);
+        cache.invalidate(3);
+
+        assertNull(cache.get(2, 0));
+        assertEquals("a", cache.get(1, 0));
+        // Only key 1 is left, so two more fit
+        cache.put(new long[] {7, 8}, "c", 0, TTL);
+        assertEquals(0, cache.evictions());
+    }
+}
@@ -0,0 +1,31 @@
+package com.zivalez.createanalyzerlite.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link TextUtil} keeps printing digits where {@link CharFormatter} stops.
+ */
+class TextUtilTest {
+
+    @Test
+    void usesFormatterInRange() {
+        assertEquals("12.35", TextUtil.formatDecimal(12.345, 2));
+        assertEquals("1.5K", TextUtil.formatCompact(1500));
+        assertEquals("42%", TextUtil.formatPercent(0.42));
+    }
+
+    @Test
+    void fallsBackOutsideFormatterRange() {
+        assertEquals(String.format(Locale.ROOT, "%.9f", Math.PI), TextUtil.formatDecimal(Math.PI, 9));
+        assertEquals("1234567890123.00", TextUtil.formatDecimal(1_234_567_890_123.0, 2));
+        assertEquals("-5000000000000", TextUtil.formatDecimal(-5e12, 0));
+        assertEquals("Infinity", TextUtil.formatDecimal(Double.POSITIVE_INFINITY, 1));
+        assertEquals("NaN", TextUtil.formatDecimal(Double.NaN, 1));
+        assertEquals("2000000000000.0B", TextUtil.formatCompact(2e21));
+        assertEquals("300000000000000%", TextUtil.formatPercent(3e12));
+    }
+}